@@ -0,0 +1,96 @@
+package io.github.nozyx12.opentoast.metrics;
+
+/**
+ * Creates and commits the Flight Recorder events of the toast lifecycle.
+ * Only instantiated by {@link ToastRecorder} once it checked that the Flight Recorder API is available,
+ * so that the event classes are never loaded on runtimes without it.
+ */
+final class FlightRecorderEvents implements LifecycleEvents {
+    /**
+     * Constructs a new FlightRecorderEvents. Called reflectively by {@link ToastRecorder}.
+     */
+    FlightRecorderEvents() {}
+
+    @Override
+    public Object beginCreate() {
+        ToastCreateEvent event = new ToastCreateEvent();
+        if (!event.isEnabled()) return null;
+
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitCreate(Object token, String title) {
+        ToastCreateEvent event = (ToastCreateEvent) token;
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.title = title;
+        event.commit();
+    }
+
+    @Override
+    public Object beginDisplay() {
+        ToastDisplayEvent event = new ToastDisplayEvent();
+        if (!event.isEnabled()) return null;
+
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitDisplay(Object token, String title, long displayLatencyNanos) {
+        ToastDisplayEvent event = (ToastDisplayEvent) token;
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.title = title;
+        event.displayLatency = displayLatencyNanos;
+        event.commit();
+    }
+
+    @Override
+    public Object beginFrame() {
+        ToastFrameEvent event = new ToastFrameEvent();
+        if (!event.isEnabled()) return null;
+
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitFrame(Object token, long latenessNanos, int animations) {
+        ToastFrameEvent event = (ToastFrameEvent) token;
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.lateness = latenessNanos;
+        event.animations = animations;
+        event.commit();
+    }
+
+    @Override
+    public Object beginClose() {
+        ToastCloseEvent event = new ToastCloseEvent();
+        if (!event.isEnabled()) return null;
+
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitClose(Object token, String title, boolean dropped) {
+        ToastCloseEvent event = (ToastCloseEvent) token;
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.title = title;
+        event.dropped = dropped;
+        event.commit();
+    }
+}
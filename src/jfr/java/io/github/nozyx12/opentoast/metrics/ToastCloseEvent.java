@@ -0,0 +1,19 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event covering the fade-out of a toast notification, or its drop.
+ */
+@Name("io.github.nozyx12.opentoast.Close")
+@Label("Toast Close")
+@Description("Fade-out of a toast notification, or its drop when there was no room for it")
+@Category("OpenToast")
+@StackTrace(false)
+class ToastCloseEvent extends Event {
+    @Label("Title")
+    String title;
+
+    @Label("Dropped")
+    boolean dropped;
+}
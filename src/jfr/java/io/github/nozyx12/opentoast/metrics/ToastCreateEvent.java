@@ -0,0 +1,16 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event covering the creation or re-skinning of the window of a toast notification.
+ */
+@Name("io.github.nozyx12.opentoast.Create")
+@Label("Toast Window Creation")
+@Description("Creation or re-skinning of the window of a toast notification")
+@Category("OpenToast")
+@StackTrace(false)
+class ToastCreateEvent extends Event {
+    @Label("Title")
+    String title;
+}
@@ -0,0 +1,21 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event covering the fade-in of a toast notification.
+ */
+@Name("io.github.nozyx12.opentoast.Display")
+@Label("Toast Display")
+@Description("Fade-in of a toast notification, from its first frame until it is fully shown")
+@Category("OpenToast")
+@StackTrace(false)
+class ToastDisplayEvent extends Event {
+    @Label("Title")
+    String title;
+
+    @Label("Display Latency")
+    @Description("Time between the display request and the end of the fade-in, queueing included")
+    @Timespan(Timespan.NANOSECONDS)
+    long displayLatency;
+}
@@ -0,0 +1,21 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event covering one animation frame on the Event Dispatch Thread.
+ */
+@Name("io.github.nozyx12.opentoast.Frame")
+@Label("Toast Animation Frame")
+@Description("Animation frame ticking every active toast animation on the Event Dispatch Thread")
+@Category("OpenToast")
+@StackTrace(false)
+class ToastFrameEvent extends Event {
+    @Label("Animations")
+    int animations;
+
+    @Label("Lateness")
+    @Description("How late the frame started compared to the target frame rate")
+    @Timespan(Timespan.NANOSECONDS)
+    long lateness;
+}
@@ -0,0 +1,74 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.DarkToastStyle;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one fade frame, in which every visible toast gets a new opacity.
+ * Requires a display; the overlay mode also requires per-pixel translucency and shaped windows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class FadeFrameBenchmark {
+    @Param({"1", "10", "15"})
+    public int toasts;
+
+    @Param({"WINDOW", "OVERLAY"})
+    public ToastRenderingMode mode;
+
+    private final List<ToastHost> hosts = new ArrayList<>();
+    private float alpha;
+
+    @Setup
+    public void setUp() throws Exception {
+        OnEventDispatchThread.run(this::createHosts);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        OnEventDispatchThread.run(() -> {
+            for (ToastHost host : this.hosts) host.dispose();
+            this.hosts.clear();
+        });
+    }
+
+    @Benchmark
+    public float fadeFrame() throws Exception {
+        return OnEventDispatchThread.call(() -> {
+            this.alpha = this.alpha >= 1f ? 0.05f : this.alpha + 0.05f;
+            for (ToastHost host : this.hosts) host.setAlpha(this.alpha);
+
+            return this.alpha;
+        });
+    }
+
+    /**
+     * Creates and shows the toasts to fade. Runs on the Event Dispatch Thread.
+     */
+    private void createHosts() {
+        ToastStyle style = new DarkToastStyle(new Font("Dialog", Font.BOLD, 14), new Font("Dialog", Font.PLAIN, 12), 20);
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+        if (this.mode == ToastRenderingMode.OVERLAY && !ToastOverlay.isSupported(config.getDevice())) {
+            throw new IllegalStateException("The overlay rendering mode is not supported on this display");
+        }
+
+        for (int i = 0; i < this.toasts; i++) {
+            ToastHost host = this.mode == ToastRenderingMode.OVERLAY ? new OverlayToastSurface(config) : new ToastWindow();
+            host.skin("Benchmark " + i, "Fading toast", null, style, null);
+            host.setLocation(10, 10 + i * 90);
+            host.setVisible(true);
+            this.hosts.add(host);
+        }
+    }
+}
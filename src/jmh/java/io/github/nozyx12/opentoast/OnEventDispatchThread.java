@@ -0,0 +1,56 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs benchmark code on the Event Dispatch Thread, where the library always touches its Swing components,
+ * so that the benchmarks measure the same threading model as the library.
+ */
+final class OnEventDispatchThread {
+    private OnEventDispatchThread() {}
+
+    /**
+     * Runs a task on the Event Dispatch Thread and waits for its result.
+     *
+     * @param task The task to run.
+     * @param <T>  The type of the result.
+     * @return The result of the task.
+     * @throws Exception If the task fails or the current thread is interrupted.
+     */
+    static <T> T call(Callable<T> task) throws Exception {
+        Object[] result = new Object[1];
+
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    result[0] = task.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause() instanceof IllegalStateException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw (Error) cause;
+        }
+
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    /**
+     * Runs a task on the Event Dispatch Thread and waits for it to finish.
+     *
+     * @param task The task to run.
+     * @throws Exception If the task fails or the current thread is interrupted.
+     */
+    static void run(Runnable task) throws Exception {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+}
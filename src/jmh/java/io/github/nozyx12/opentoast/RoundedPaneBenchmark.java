@@ -0,0 +1,67 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.DarkToastStyle;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures painting the content of a toast into an offscreen Graphics2D, with and without the cached surface.
+ * Runs headless.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RoundedPaneBenchmark {
+    private JPanel panel;
+    private BufferedImage target;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setUp() throws Exception {
+        OnEventDispatchThread.run(this::createPanel);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintCached() throws Exception {
+        return OnEventDispatchThread.call(() -> {
+            this.panel.paint(this.graphics);
+            return this.target;
+        });
+    }
+
+    @Benchmark
+    public BufferedImage paintUncached() throws Exception {
+        return OnEventDispatchThread.call(() -> {
+            this.panel.invalidate();
+            this.panel.paint(this.graphics);
+            return this.target;
+        });
+    }
+
+    /**
+     * Builds and lays out the content of a toast. Runs on the Event Dispatch Thread.
+     */
+    private void createPanel() {
+        ToastContent content = new ToastContent(null);
+        content.skin("Benchmark", "Painting a toast offscreen", null, new DarkToastStyle(new Font("Dialog", Font.BOLD, 14), new Font("Dialog", Font.PLAIN, 12), 20), null);
+
+        this.panel = content.getPanel();
+        this.panel.setSize(this.panel.getPreferredSize());
+        this.panel.validate();
+
+        this.target = new BufferedImage(this.panel.getWidth(), this.panel.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        this.graphics = this.target.createGraphics();
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.DarkToastStyle;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the window of a toast notification, from scratch or from the pool.
+ * Requires a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ToastWindowBenchmark {
+    private ToastStyle style;
+    private ToastWindow pooled;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.style = new DarkToastStyle(new Font("Dialog", Font.BOLD, 14), new Font("Dialog", Font.PLAIN, 12), 20);
+        this.pooled = OnEventDispatchThread.call(ToastWindow::new);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        OnEventDispatchThread.run(this.pooled::dispose);
+    }
+
+    @Benchmark
+    public ToastWindow createWindow() throws Exception {
+        return OnEventDispatchThread.call(() -> {
+            ToastWindow window = new ToastWindow();
+            window.skin("Benchmark", "Building a new toast window", null, this.style, null);
+            window.dispose();
+
+            return window;
+        });
+    }
+
+    @Benchmark
+    public ToastWindow skinPooledWindow() throws Exception {
+        return OnEventDispatchThread.call(() -> {
+            this.pooled.skin("Benchmark", "Re-skinning a pooled toast window", null, this.style, null);
+            this.pooled.reset();
+
+            return this.pooled;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.nozyx12.opentoast.layout;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing a toast on a stack of N active toasts, and closing a toast in the middle of the stack.
+ * The stack is built once per trial: each operation is paired with its inverse inside the measured method,
+ * so the stack keeps N toasts without a per-invocation setup, whose overhead would dominate such short operations.
+ * Runs headless.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ToastStackLayoutBenchmark {
+    private static final int HEIGHT = 80;
+
+    @Param({"1", "10", "100"})
+    public int activeToasts;
+
+    private ToastStackLayout layout;
+    private List<ToastStackLayout.Slot> slots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.layout = new ToastStackLayout(10);
+        this.slots = new ArrayList<>(this.activeToasts);
+
+        for (int i = 0; i < this.activeToasts; i++) this.slots.add(this.layout.reserve(HEIGHT, Integer.MAX_VALUE, moved -> {}));
+    }
+
+    @Benchmark
+    public ToastStackLayout.Slot placeToast() {
+        ToastStackLayout.Slot slot = this.layout.reserve(HEIGHT, Integer.MAX_VALUE, moved -> {});
+        this.layout.release(slot);
+
+        return slot;
+    }
+
+    @Benchmark
+    public ToastStackLayout closeMiddleToast() {
+        this.layout.release(this.slots.remove(this.activeToasts / 2));
+        this.slots.add(this.layout.reserve(HEIGHT, Integer.MAX_VALUE, moved -> {}));
+
+        return this.layout;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nozyx12.opentoast.modifier;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding a notification sound and opening a clip for it.
+ * Opening a clip requires an audio device.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SoundBenchmark {
+    private byte[] soundData;
+    private ToastSoundPlayer.DecodedSound decoded;
+
+    @Setup
+    public void setUp() throws IOException, UnsupportedAudioFileException {
+        AudioFormat format = new AudioFormat(44100f, 16, 2, true, false);
+        byte[] samples = new byte[44100 * 4 / 2];
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(samples), format, samples.length / 4), AudioFileFormat.Type.WAVE, output);
+
+        this.soundData = output.toByteArray();
+        this.decoded = ToastSoundPlayer.DecodedSound.decode(this.soundData);
+    }
+
+    @Benchmark
+    public ToastSoundPlayer.DecodedSound decode() throws IOException, UnsupportedAudioFileException {
+        return ToastSoundPlayer.DecodedSound.decode(this.soundData);
+    }
+
+    @Benchmark
+    public Clip openClip() throws LineUnavailableException {
+        Clip clip = AudioSystem.getClip();
+        clip.open(this.decoded.getFormat(), this.decoded.getSamples(), 0, this.decoded.getSamples().length);
+        clip.close();
+
+        return clip;
+    }
+}
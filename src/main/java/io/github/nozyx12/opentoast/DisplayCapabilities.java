@@ -0,0 +1,161 @@
+package io.github.nozyx12.opentoast;
+
+import java.awt.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The translucency capabilities of each screen, probed once and cached.
+ * Setting the opacity of a window on a screen that does not support it either fails or is very slow,
+ * for example on X11 sessions without a compositing manager, so notifications pick their {@link FadeBackend} from here.
+ */
+public final class DisplayCapabilities {
+    private static final DisplayCapabilities INSTANCE = new DisplayCapabilities();
+
+    private final ConcurrentMap<GraphicsDevice, Capabilities> capabilities = new ConcurrentHashMap<>();
+    private volatile FadeBackend preferredBackend;
+
+    /**
+     * Constructs a new DisplayCapabilities.
+     */
+    private DisplayCapabilities() {}
+
+    /**
+     * Returns the capabilities shared by all toast notifications.
+     *
+     * @return The shared DisplayCapabilities instance.
+     */
+    public static DisplayCapabilities getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the fade backend used for new notifications on a screen.
+     * The preferred backend is returned if the screen supports it, otherwise the most capable supported one.
+     *
+     * @param device The screen.
+     * @return The fade backend of the screen.
+     */
+    public FadeBackend getFadeBackend(GraphicsDevice device) {
+        Capabilities capabilities = this.getCapabilities(device);
+        FadeBackend preferred = this.preferredBackend;
+
+        if (preferred != null && capabilities.supports(preferred)) return preferred;
+        if (capabilities.uniform) return FadeBackend.WINDOW_OPACITY;
+        if (capabilities.perPixel) return FadeBackend.PER_PIXEL_ALPHA;
+        return FadeBackend.INSTANT;
+    }
+
+    /**
+     * Returns the fade backend used for new notifications on the default screen.
+     *
+     * @return The fade backend of the default screen.
+     */
+    public FadeBackend getFadeBackend() {
+        return this.getFadeBackend(ScreenGeometry.getConfiguration(null).getDevice());
+    }
+
+    /**
+     * Sets the fade backend to use on the screens supporting it, for example {@link FadeBackend#INSTANT}
+     * on machines where translucency is supported but slow. Notifications already on the screen keep their backend,
+     * pooled windows pick up the new one when they are reused.
+     *
+     * @param preferredBackend The preferred backend, or null to pick the most capable backend of each screen.
+     */
+    public void setPreferredFadeBackend(FadeBackend preferredBackend) {
+        this.preferredBackend = preferredBackend;
+    }
+
+    /**
+     * Returns the preferred fade backend.
+     *
+     * @return The preferred backend, or null if the most capable backend of each screen is used.
+     */
+    public FadeBackend getPreferredFadeBackend() {
+        return this.preferredBackend;
+    }
+
+    /**
+     * Returns whether a screen supports setting the opacity of a whole window.
+     *
+     * @param device The screen.
+     * @return True if uniform translucency is supported.
+     */
+    public boolean isUniformTranslucencySupported(GraphicsDevice device) {
+        return this.getCapabilities(device).uniform;
+    }
+
+    /**
+     * Returns whether a screen supports windows with translucent pixels.
+     *
+     * @param device The screen.
+     * @return True if per-pixel translucency is supported.
+     */
+    public boolean isPerPixelTranslucencySupported(GraphicsDevice device) {
+        return this.getCapabilities(device).perPixel;
+    }
+
+    /**
+     * Returns whether a screen supports windows with fully transparent pixels and custom shapes.
+     *
+     * @param device The screen.
+     * @return True if per-pixel transparency is supported.
+     */
+    public boolean isPerPixelTransparencySupported(GraphicsDevice device) {
+        return this.getCapabilities(device).transparent;
+    }
+
+    /**
+     * Discards the probed capabilities, for example after the display configuration changed.
+     */
+    public void invalidate() {
+        this.capabilities.clear();
+    }
+
+    /**
+     * Returns the capabilities of a screen, probing them on first use.
+     *
+     * @param device The screen.
+     * @return The capabilities of the screen.
+     */
+    private Capabilities getCapabilities(GraphicsDevice device) {
+        return this.capabilities.computeIfAbsent(device, Capabilities::new);
+    }
+
+    /**
+     * The translucency supported by a screen.
+     */
+    private static final class Capabilities {
+        private final boolean uniform;
+        private final boolean perPixel;
+        private final boolean transparent;
+
+        /**
+         * Probes the translucency supported by a screen.
+         *
+         * @param device The screen to probe.
+         */
+        private Capabilities(GraphicsDevice device) {
+            this.uniform = device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.TRANSLUCENT);
+            this.perPixel = device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSLUCENT);
+            this.transparent = device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSPARENT);
+        }
+
+        /**
+         * Returns whether a fade backend can be used on the screen.
+         *
+         * @param backend The fade backend.
+         * @return True if the screen supports the backend.
+         */
+        private boolean supports(FadeBackend backend) {
+            switch (backend) {
+                case WINDOW_OPACITY:
+                    return this.uniform;
+                case PER_PIXEL_ALPHA:
+                    return this.perPixel;
+                default:
+                    return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * The ways the opacity of a notification can be changed, from the most to the least capable.
+ * The backend of each screen is chosen by {@link DisplayCapabilities} from the translucency supported by the screen.
+ */
+public enum FadeBackend {
+    /**
+     * The opacity of the whole window is set natively, which requires uniform translucency.
+     */
+    WINDOW_OPACITY,
+
+    /**
+     * The window has a transparent background and its content is painted with an alpha composite,
+     * which requires per-pixel translucency.
+     */
+    PER_PIXEL_ALPHA,
+
+    /**
+     * Notifications are shown and hidden at once, without fading. Always supported.
+     */
+    INSTANT
+}
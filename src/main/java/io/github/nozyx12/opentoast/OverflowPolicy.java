@@ -0,0 +1,28 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * Defines what happens when a notification is submitted while the pending queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Drops the notification that has been waiting the longest to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Drops the new notification.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Blocks the submitting thread until room is available or the block timeout expires, then drops the new notification.
+     * Submissions from the Event Dispatch Thread never block and behave like {@link #DROP_NEWEST}.
+     */
+    BLOCK,
+
+    /**
+     * Drops the waiting notification with the lowest priority if it is less important than the new one,
+     * otherwise drops the new notification.
+     */
+    REPLACE_LOWEST_PRIORITY
+}
@@ -0,0 +1,124 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A toast notification painted into the shared {@link ToastOverlay} of its screen instead of its own window.
+ * The opacity of the notification is applied with an {@link AlphaComposite} when painting its component tree.
+ */
+final class OverlayToastSurface extends ToastHost {
+    private final ToastOverlay overlay;
+    private final AlphaPane pane;
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Constructs a new OverlayToastSurface on the overlay of the specified screen.
+     *
+     * @param config The graphics configuration of the screen.
+     */
+    OverlayToastSurface(GraphicsConfiguration config) {
+        this.overlay = ToastOverlay.forScreen(config);
+        this.pane = new AlphaPane();
+        this.pane.add(this.getPanel(), BorderLayout.CENTER);
+    }
+
+    @Override
+    public GraphicsConfiguration getGraphicsConfiguration() {
+        return this.overlay.getGraphicsConfiguration();
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(this.bounds);
+    }
+
+    @Override
+    public void setLocation(int x, int y) {
+        if (this.bounds.x == x && this.bounds.y == y) return;
+
+        this.bounds.setLocation(x, y);
+        this.applyBounds();
+    }
+
+    @Override
+    public float getAlpha() {
+        return this.pane.alpha;
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+        if (this.pane.alpha == alpha) return;
+
+        this.pane.alpha = alpha;
+        this.pane.repaint();
+    }
+
+    @Override
+    FadeBackend getFadeBackend() {
+        return FadeBackend.PER_PIXEL_ALPHA;
+    }
+
+    @Override
+    void setVisible(boolean visible) {
+        if (visible) this.overlay.add(this.pane);
+        else this.overlay.remove(this.pane);
+    }
+
+    @Override
+    void pack() {
+        this.bounds.setSize(this.getPanel().getPreferredSize());
+        this.applyBounds();
+        this.pane.validate();
+    }
+
+    @Override
+    void dispose() {
+        this.setVisible(false);
+    }
+
+    /**
+     * Moves the painted notification to its bounds, relative to the overlay window.
+     */
+    private void applyBounds() {
+        Point origin = this.overlay.getOrigin();
+        Rectangle previous = this.pane.getBounds();
+
+        this.pane.setBounds(this.bounds.x - origin.x, this.bounds.y - origin.y, this.bounds.width, this.bounds.height);
+
+        if (this.pane.getParent() != null) {
+            this.pane.getParent().repaint(previous.x, previous.y, previous.width, previous.height);
+            this.overlay.updateShape();
+        }
+    }
+
+    /**
+     * A transparent container painting its children with a uniform opacity.
+     */
+    private static class AlphaPane extends JComponent {
+        private float alpha;
+
+        /**
+         * Constructs a new AlphaPane.
+         */
+        public AlphaPane() {
+            this.setOpaque(false);
+            this.setLayout(new BorderLayout());
+        }
+
+        /**
+         * Paints the children of the pane with the current opacity.
+         *
+         * @param g The graphics context to use for painting.
+         */
+        @Override
+        public void paint(Graphics g) {
+            if (this.alpha <= 0f) return;
+
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setComposite(AlphaComposite.SrcOver.derive(Math.min(this.alpha, 1f)));
+            super.paint(g2);
+            g2.dispose();
+        }
+    }
+}
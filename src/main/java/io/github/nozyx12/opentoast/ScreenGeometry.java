@@ -0,0 +1,109 @@
+package io.github.nozyx12.opentoast;
+
+import java.awt.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of the usable area of each screen, that is its bounds minus the insets of task bars and docks.
+ * Looking up screen insets is a native round trip on some platforms, so it is done once per screen rather than once per toast.
+ * A cached area is invalidated when the bounds of its screen change, when it gets older than the refresh interval,
+ * and when {@link #invalidate()} is called.
+ */
+public final class ScreenGeometry {
+    private static final ScreenGeometry INSTANCE = new ScreenGeometry();
+
+    private final ConcurrentMap<GraphicsDevice, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long refreshInterval = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Constructs a new ScreenGeometry.
+     */
+    private ScreenGeometry() {}
+
+    /**
+     * Returns the geometry cache shared by all toast notifications.
+     *
+     * @return The shared ScreenGeometry instance.
+     */
+    public static ScreenGeometry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the graphics configuration of the specified screen.
+     *
+     * @param screen The screen, or null for the default screen.
+     * @return The default configuration of the screen.
+     */
+    public static GraphicsConfiguration getConfiguration(GraphicsDevice screen) {
+        if (screen == null) screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        return screen.getDefaultConfiguration();
+    }
+
+    /**
+     * Returns the area of a screen in which notifications can be placed, in virtual screen coordinates.
+     *
+     * @param config The graphics configuration of the screen.
+     * @return A copy of the usable area of the screen.
+     */
+    public Rectangle getUsableBounds(GraphicsConfiguration config) {
+        Rectangle bounds = config.getBounds();
+        long now = System.nanoTime();
+        Entry entry = this.entries.get(config.getDevice());
+
+        if (entry == null || !entry.bounds.equals(bounds) || now - entry.time > this.refreshInterval) {
+            Insets insets = Toolkit.getDefaultToolkit().getScreenInsets(config);
+            Rectangle usable = new Rectangle(bounds.x + insets.left, bounds.y + insets.top,
+                    bounds.width - insets.left - insets.right, bounds.height - insets.top - insets.bottom);
+
+            entry = new Entry(bounds, usable, now);
+            this.entries.put(config.getDevice(), entry);
+        }
+
+        return new Rectangle(entry.usable);
+    }
+
+    /**
+     * Sets how long the usable area of a screen is cached when its bounds do not change.
+     * Insets can change without the bounds changing, for example when a task bar is resized.
+     *
+     * @param refreshInterval The refresh interval in milliseconds.
+     */
+    public void setRefreshInterval(long refreshInterval) {
+        if (refreshInterval < 0) throw new IllegalArgumentException("Refresh interval must not be negative");
+        this.refreshInterval = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+    }
+
+    /**
+     * Returns how long the usable area of a screen is cached when its bounds do not change.
+     *
+     * @return The refresh interval in milliseconds.
+     */
+    public long getRefreshInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(this.refreshInterval);
+    }
+
+    /**
+     * Discards every cached area. Call this after the screen configuration changed in a way the cache cannot detect.
+     */
+    public void invalidate() {
+        this.entries.clear();
+    }
+
+    /**
+     * The cached geometry of a screen.
+     */
+    private static final class Entry {
+        private final Rectangle bounds;
+        private final Rectangle usable;
+        private final long time;
+
+        private Entry(Rectangle bounds, Rectangle usable, long time) {
+            this.bounds = bounds;
+            this.usable = usable;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.history.ToastHistory;
+import io.github.nozyx12.opentoast.history.ToastOutcome;
+import io.github.nozyx12.opentoast.metrics.ToastRecorder;
+import io.github.nozyx12.opentoast.modifier.ToastModifier;
+import io.github.nozyx12.opentoast.render.LruCache;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A front-end for creating toast notifications during notification storms.
+ * Notifications sharing the same key that arrive within the coalescing window are merged into the existing toast,
+ * which shows a repeat counter instead of opening a new window.
+ * New notifications can also be rate limited per source with a {@link TokenBucket}. The buckets of the
+ * {@value #MAX_SOURCES} most recently used sources are kept; a source unused for longer starts again with a full bucket.
+ * Rate limited notifications are recorded as dropped in the metrics and the history.
+ */
+public class ToastCoalescer {
+    private static final ToastCoalescer INSTANCE = new ToastCoalescer(TimeUnit.SECONDS.toMillis(10));
+    private static final int MAX_SOURCES = 1024;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LruCache<String, TokenBucket> buckets = new LruCache<>(MAX_SOURCES);
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final long windowNanos;
+    private volatile double permitsPerSecond;
+    private volatile int burst;
+
+    /**
+     * Constructs a new ToastCoalescer without rate limiting.
+     *
+     * @param windowMillis The time in milliseconds during which an identical notification is merged into the previous one.
+     */
+    public ToastCoalescer(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * Returns the coalescer shared by the application.
+     *
+     * @return The shared ToastCoalescer instance.
+     */
+    public static ToastCoalescer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enables rate limiting of new notifications for each source.
+     * Existing buckets are kept until {@link #clearRateLimits()} is called.
+     *
+     * @param permitsPerSecond The number of new notifications allowed per second and per source.
+     * @param burst            The number of new notifications a source can create at once.
+     */
+    public void setRateLimit(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("Rate must be positive");
+        if (burst <= 0) throw new IllegalArgumentException("Burst must be positive");
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Disables rate limiting and forgets the state of every source.
+     */
+    public void clearRateLimits() {
+        this.permitsPerSecond = 0;
+        this.buckets.clear();
+    }
+
+    /**
+     * Displays a notification keyed by its title and message, or merges it into an identical visible one.
+     *
+     * @param title     The title of the notification.
+     * @param message   The message to be displayed in the notification.
+     * @param icon      An icon to display alongside the message. Can be null.
+     * @param style     The style configuration for the notification.
+     * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @return The displayed or merged notification, or null if the notification was rate limited.
+     */
+    public ToastNotification show(String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers) {
+        return this.show(null, title + '\u0000' + message, title, message, icon, style, modifiers);
+    }
+
+    /**
+     * Displays a notification, or merges it into the visible notification with the same key.
+     * This method can be called from any thread and does not wait for the notification to be shown.
+     *
+     * @param source    The source of the notification, used for rate limiting. Can be null to disable rate limiting.
+     * @param key       The key identifying identical notifications.
+     * @param title     The title of the notification.
+     * @param message   The message to be displayed in the notification.
+     * @param icon      An icon to display alongside the message. Can be null.
+     * @param style     The style configuration for the notification.
+     * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @return The displayed or merged notification, or null if the notification was rate limited.
+     */
+    public ToastNotification show(String source, String key, String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers) {
+        long now = System.nanoTime();
+
+        while (true) {
+            Entry existing = this.entries.get(key);
+
+            if (existing != null && existing.tryMerge(now, this.windowNanos)) {
+                this.coalescedCount.incrementAndGet();
+                ToastRecorder.coalesced();
+                ToastHistory.getInstance().record(title, message, style, System.currentTimeMillis(), ToastOutcome.COALESCED);
+                return existing.toast;
+            }
+
+            if (!this.acquire(source)) {
+                this.rateLimitedCount.incrementAndGet();
+                ToastRecorder.dropped(title);
+                ToastHistory.getInstance().record(title, message, style, System.currentTimeMillis(), ToastOutcome.DROPPED);
+                return null;
+            }
+
+            ToastNotification toast = new ToastNotification(title, message, icon, style, modifiers);
+            Entry entry = new Entry(toast, now);
+
+            boolean installed;
+            if (existing == null) installed = this.entries.putIfAbsent(key, entry) == null;
+            else installed = this.entries.replace(key, existing, entry);
+
+            // Another thread created the notification first, merge into it instead.
+            if (!installed) continue;
+
+            toast.whenClosed().thenRun(() -> this.entries.remove(key, entry));
+            toast.displayAsync();
+
+            return toast;
+        }
+    }
+
+    /**
+     * Returns how many notifications were merged into an existing one.
+     *
+     * @return The number of coalesced notifications.
+     */
+    public long getCoalescedCount() {
+        return this.coalescedCount.get();
+    }
+
+    /**
+     * Returns how many notifications were rejected by the rate limiter.
+     *
+     * @return The number of rate limited notifications.
+     */
+    public long getRateLimitedCount() {
+        return this.rateLimitedCount.get();
+    }
+
+    /**
+     * Takes a token from the bucket of a source.
+     *
+     * @param source The source of the notification. Can be null.
+     * @return True if the notification may be created.
+     */
+    private boolean acquire(String source) {
+        double rate = this.permitsPerSecond;
+        if (source == null || rate <= 0) return true;
+
+        return this.buckets.get(source, s -> new TokenBucket(rate, this.burst)).tryAcquire();
+    }
+
+    /**
+     * A notification that can still absorb identical notifications.
+     */
+    private static final class Entry {
+        private final ToastNotification toast;
+        private long lastArrival;
+
+        private Entry(ToastNotification toast, long lastArrival) {
+            this.toast = toast;
+            this.lastArrival = lastArrival;
+        }
+
+        /**
+         * Merges an arrival into the notification if it is still open and the previous arrival is recent enough.
+         *
+         * @param now         The time of the arrival.
+         * @param windowNanos The coalescing window.
+         * @return True if the arrival was merged.
+         */
+        private synchronized boolean tryMerge(long now, long windowNanos) {
+            if (now - this.lastArrival > windowNanos || this.toast.whenClosed().isDone()) return false;
+
+            this.lastArrival = now;
+            return this.toast.coalesce();
+        }
+    }
+}
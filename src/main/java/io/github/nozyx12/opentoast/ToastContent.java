@@ -0,0 +1,382 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.render.IconCache;
+import io.github.nozyx12.opentoast.render.RoundedBackgroundCache;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicHTML;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The component tree of a toast notification: a rounded pane holding the title bar, the message and the icon.
+ * The same tree is re-skinned for every notification shown by its {@link ToastHost}.
+ */
+final class ToastContent {
+    private static final int PROGRESS_MAXIMUM = 1000;
+
+    private final RoundedPane panel;
+    private final JPanel topBar;
+    private final JLabel titleLabel;
+    private final JButton closeButton;
+    private final JLabel messageLabel;
+    private final WrappedLabel messageText;
+    private final JLabel iconLabel;
+    private final JProgressBar progressBar;
+    private Runnable closeAction;
+
+    /**
+     * Constructs a new ToastContent.
+     *
+     * @param surface The surface displaying this content, which modifiers can find with {@link ToastSurface#of(Component)}.
+     */
+    ToastContent(ToastSurface surface) {
+        this.panel = new RoundedPane();
+        this.panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        this.panel.putClientProperty(ToastSurface.CLIENT_PROPERTY, surface);
+
+        this.topBar = new JPanel();
+        this.topBar.setOpaque(false);
+        this.topBar.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+        this.topBar.setLayout(new BorderLayout());
+
+        this.titleLabel = new JLabel();
+        this.topBar.add(this.titleLabel, BorderLayout.CENTER);
+
+        this.closeButton = new JButton("X");
+        this.closeButton.addActionListener(e -> {
+            if (this.closeAction != null) this.closeAction.run();
+        });
+        this.closeButton.setFocusPainted(false);
+        this.closeButton.setBorderPainted(false);
+        this.closeButton.setBackground(Color.RED);
+        this.closeButton.setForeground(Color.WHITE);
+        this.closeButton.getModel().addChangeListener(e -> this.panel.invalidateSurface());
+        this.topBar.add(this.closeButton, BorderLayout.EAST);
+
+        this.messageLabel = new JLabel();
+        this.messageLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
+
+        this.messageText = new WrappedLabel();
+        this.messageText.setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
+
+        this.iconLabel = new JLabel();
+        this.iconLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+
+        this.progressBar = new JProgressBar(0, PROGRESS_MAXIMUM);
+        this.progressBar.setBorderPainted(false);
+    }
+
+    /**
+     * Applies the content and style of a notification to the component tree.
+     * Any component added to the pane by a previous notification is removed.
+     * Plain text messages are wrapped to the maximum message width of the style; HTML messages are rendered by a JLabel.
+     *
+     * @param title       The title of the notification.
+     * @param message     The message to be displayed in the notification.
+     * @param icon        An icon to display alongside the message. Can be null.
+     * @param style       The style configuration for the notification.
+     * @param closeAction The action to run when the close button is pressed.
+     */
+    void skin(String title, String message, Icon icon, ToastStyle style, Runnable closeAction) {
+        this.closeAction = closeAction;
+
+        this.panel.removeAll();
+        this.panel.setStyle(style);
+
+        this.topBar.setBackground(style.getBackgroundColor());
+
+        this.titleLabel.setText("Notification: " + title);
+        this.titleLabel.setForeground(style.getTitleColor());
+        this.titleLabel.setFont(style.getTitleFont());
+
+        this.panel.add(this.topBar, BorderLayout.NORTH);
+        this.panel.add(this.getMessageComponent(message, style), BorderLayout.CENTER);
+        this.setIcon(icon, style);
+
+        this.progressBar.setForeground(style.getTitleColor());
+        this.progressBar.setBackground(style.getBackgroundColor());
+
+        this.panel.invalidateSurface();
+    }
+
+    /**
+     * Applies new content to the component tree of a visible notification, touching only the components that changed.
+     *
+     * @param title    The title of the notification.
+     * @param message  The message to be displayed in the notification.
+     * @param icon     An icon to display alongside the message. Can be null.
+     * @param style    The style configuration for the notification.
+     * @param progress The progress shown by the progress bar, between 0 and 1, or a negative value to hide the bar.
+     */
+    void update(String title, String message, Icon icon, ToastStyle style, float progress) {
+        this.setTitle(title);
+
+        JComponent messageComponent = this.getMessageComponent(message, style);
+        BorderLayout layout = (BorderLayout) this.panel.getLayout();
+
+        if (layout.getLayoutComponent(BorderLayout.CENTER) != messageComponent) {
+            this.panel.remove(layout.getLayoutComponent(BorderLayout.CENTER));
+            this.panel.add(messageComponent, BorderLayout.CENTER);
+        }
+
+        this.setIcon(icon, style);
+
+        if (progress >= 0f) {
+            this.progressBar.setValue(Math.round(Math.min(1f, progress) * PROGRESS_MAXIMUM));
+            if (this.progressBar.getParent() != this.panel) this.panel.add(this.progressBar, BorderLayout.SOUTH);
+        } else if (this.progressBar.getParent() == this.panel) {
+            this.panel.remove(this.progressBar);
+        }
+
+        this.panel.invalidateSurface();
+    }
+
+    /**
+     * Shows an icon alongside the message, scaled once for the display through the shared {@link IconCache}.
+     *
+     * @param icon  The icon to show, or null to remove the current icon.
+     * @param style The style configuration for the notification.
+     */
+    private void setIcon(Icon icon, ToastStyle style) {
+        if (icon == null) {
+            this.iconLabel.setIcon(null);
+            if (this.iconLabel.getParent() == this.panel) this.panel.remove(this.iconLabel);
+            return;
+        }
+
+        GraphicsConfiguration config = this.panel.getGraphicsConfiguration();
+        if (config == null) config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+        this.iconLabel.setIcon(IconCache.getInstance().getIcon(icon, style.getIconSize(), config));
+        if (this.iconLabel.getParent() != this.panel) this.panel.add(this.iconLabel, BorderLayout.WEST);
+    }
+
+    /**
+     * Applies a message to the component displaying it: a wrapped label for plain text, a JLabel for HTML.
+     *
+     * @param message The message to be displayed in the notification.
+     * @param style   The style configuration for the notification.
+     * @return The component displaying the message.
+     */
+    private JComponent getMessageComponent(String message, ToastStyle style) {
+        if (BasicHTML.isHTMLString(message)) {
+            this.messageLabel.setText(message);
+            this.messageLabel.setForeground(style.getTextColor());
+            this.messageLabel.setFont(style.getMessageFont());
+            return this.messageLabel;
+        }
+
+        this.messageLabel.setText(null);
+        this.messageText.setText(message);
+        this.messageText.setForeground(style.getTextColor());
+        this.messageText.setFont(style.getMessageFont());
+        this.messageText.setMaxWidth(style.getMaxMessageWidth());
+        return this.messageText;
+    }
+
+    /**
+     * Replaces the title shown in the title bar.
+     *
+     * @param title The new title of the notification.
+     */
+    void setTitle(String title) {
+        this.titleLabel.setText("Notification: " + title);
+        this.panel.invalidateSurface();
+    }
+
+    /**
+     * Clears every reference to the notification that used the component tree.
+     */
+    void reset() {
+        this.closeAction = null;
+        this.iconLabel.setIcon(null);
+        this.progressBar.setValue(0);
+    }
+
+    /**
+     * Returns the opacity the content is painted with.
+     *
+     * @return The opacity of the content, between 0 and 1.
+     */
+    float getAlpha() {
+        return this.panel.alpha;
+    }
+
+    /**
+     * Sets the opacity the content is painted with, for surfaces fading by per-pixel alpha.
+     * Only the cached rendering of the content is blitted again, so changing the opacity is cheap.
+     *
+     * @param alpha The opacity of the content, between 0 and 1.
+     */
+    void setAlpha(float alpha) {
+        if (this.panel.alpha == alpha) return;
+
+        this.panel.alpha = alpha;
+        this.panel.opacityChanged = true;
+        this.panel.repaint();
+    }
+
+    /**
+     * Returns the root of the component tree.
+     *
+     * @return The JPanel holding the content of the notification.
+     */
+    JPanel getPanel() {
+        return this.panel;
+    }
+
+    /**
+     * A custom JPanel that paints a rounded background for the toast notification.
+     * The whole content of the pane is rendered once into a cached image, which is blitted on every paint
+     * until the content, the style, the size or the display scale of the pane changes.
+     * The pane is the painting origin of its children, so a child repainting itself is painted through the cached image
+     * and the opacity of the pane instead of straight to the window.
+     */
+    private static class RoundedPane extends JPanel {
+        private ToastStyle style;
+        private BufferedImage surface;
+        private double surfaceScale;
+        private boolean surfaceValid;
+        private float alpha = 1f;
+        private boolean opacityChanged;
+
+        /**
+         * Constructs a new RoundedPane without style.
+         */
+        public RoundedPane() {
+            this.setOpaque(false);
+            this.setLayout(new BorderLayout());
+        }
+
+        /**
+         * Sets the style used to paint the background.
+         *
+         * @param style The style configuration for the pane.
+         */
+        public void setStyle(ToastStyle style) {
+            this.style = style;
+            this.invalidateSurface();
+        }
+
+        /**
+         * Discards the cached rendering of the pane and schedules a repaint.
+         */
+        public void invalidateSurface() {
+            this.surfaceValid = false;
+            this.repaint();
+        }
+
+        /**
+         * Invalidates the layout of the pane, which also discards its cached rendering
+         * since a child changed its text, icon or font.
+         */
+        @Override
+        public void invalidate() {
+            super.invalidate();
+            this.surfaceValid = false;
+        }
+
+        /**
+         * Makes the paints requested by the children, such as the close button on hover, start from this pane.
+         *
+         * @return Always true.
+         */
+        @Override
+        protected boolean isPaintingOrigin() {
+            return true;
+        }
+
+        /**
+         * Paints a region of the pane immediately. The paints of the children are redirected here,
+         * so the cached rendering is discarded unless the paint was only requested by a change of opacity.
+         *
+         * @param x The x coordinate of the region to paint.
+         * @param y The y coordinate of the region to paint.
+         * @param w The width of the region to paint.
+         * @param h The height of the region to paint.
+         */
+        @Override
+        public void paintImmediately(int x, int y, int w, int h) {
+            if (!this.opacityChanged) this.surfaceValid = false;
+            this.opacityChanged = false;
+
+            super.paintImmediately(x, y, w, h);
+        }
+
+        /**
+         * Paints the pane by blitting its cached rendering with its opacity, rendering it again first if it is outdated.
+         *
+         * @param g The graphics context to use for painting.
+         */
+        @Override
+        public void paint(Graphics g) {
+            if (this.getWidth() <= 0 || this.getHeight() <= 0) return;
+
+            Graphics2D g2 = (Graphics2D) g;
+            double scale = RoundedBackgroundCache.getScale(g2);
+
+            if (!this.surfaceValid || this.surfaceScale != scale || !this.fitsSurface(scale)) this.renderSurface(scale);
+
+            if (this.alpha <= 0f) return;
+
+            Composite composite = g2.getComposite();
+            if (this.alpha < 1f) g2.setComposite(AlphaComposite.SrcOver.derive(this.alpha));
+            g2.drawImage(this.surface, 0, 0, this.getWidth(), this.getHeight(), null);
+            g2.setComposite(composite);
+        }
+
+        /**
+         * Paints the component with a rounded rectangle background.
+         *
+         * @param g The graphics context to use for painting.
+         */
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (this.style == null) return;
+
+            RoundedBackgroundCache.getInstance().paint((Graphics2D) g, this.style, this.getWidth(), this.getHeight());
+            super.paintComponent(g);
+        }
+
+        /**
+         * Returns whether the cached image has the size required at the specified scale.
+         *
+         * @param scale The display scale.
+         * @return True if the cached image can be reused.
+         */
+        private boolean fitsSurface(double scale) {
+            return this.surface != null
+                    && this.surface.getWidth() == (int) Math.ceil(this.getWidth() * scale)
+                    && this.surface.getHeight() == (int) Math.ceil(this.getHeight() * scale);
+        }
+
+        /**
+         * Renders the whole pane, children included, into the cached image.
+         *
+         * @param scale The display scale.
+         */
+        private void renderSurface(double scale) {
+            if (!this.fitsSurface(scale)) {
+                int width = (int) Math.ceil(this.getWidth() * scale);
+                int height = (int) Math.ceil(this.getHeight() * scale);
+                GraphicsConfiguration config = this.getGraphicsConfiguration();
+
+                if (config != null) this.surface = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+                else this.surface = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            }
+
+            Graphics2D g = this.surface.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, this.surface.getWidth(), this.surface.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            g.scale(scale, scale);
+            super.paint(g);
+            g.dispose();
+
+            this.surfaceScale = scale;
+            this.surfaceValid = true;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * The corners of a screen in which toast notifications can be stacked.
+ * Each corner of each screen has its own independent stack.
+ */
+public enum ToastCorner {
+    /**
+     * Notifications stack upwards from the bottom right corner.
+     */
+    BOTTOM_RIGHT,
+
+    /**
+     * Notifications stack upwards from the bottom left corner.
+     */
+    BOTTOM_LEFT,
+
+    /**
+     * Notifications stack downwards from the top right corner.
+     */
+    TOP_RIGHT,
+
+    /**
+     * Notifications stack downwards from the top left corner.
+     */
+    TOP_LEFT;
+
+    /**
+     * Returns whether notifications in this corner stack upwards from the bottom of the screen.
+     *
+     * @return True for the bottom corners.
+     */
+    public boolean isBottom() {
+        return this == BOTTOM_RIGHT || this == BOTTOM_LEFT;
+    }
+
+    /**
+     * Returns whether notifications in this corner are aligned with the right edge of the screen.
+     *
+     * @return True for the right corners.
+     */
+    public boolean isRight() {
+        return this == BOTTOM_RIGHT || this == TOP_RIGHT;
+    }
+}
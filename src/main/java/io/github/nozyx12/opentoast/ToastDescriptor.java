@@ -0,0 +1,307 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.modifier.ToastModifier;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable description of a toast notification: its content, style, modifiers, priority and placement.
+ * Descriptors do not touch Swing, so they can be built cheaply and in large numbers from any thread
+ * and shared between notifications. The window of a notification is only created on the Event Dispatch Thread
+ * once the notification gets a place on the screen.
+ */
+public final class ToastDescriptor {
+    private final String title;
+    private final String message;
+    private final Icon icon;
+    private final ToastStyle style;
+    private final List<ToastModifier> modifiers;
+    private final ToastPriority priority;
+    private final GraphicsDevice screen;
+    private final ToastCorner corner;
+
+    /**
+     * Constructs a new ToastDescriptor placed in the bottom right corner of the default screen.
+     *
+     * @param title     The title of the notification.
+     * @param message   The message to be displayed in the notification.
+     * @param icon      An icon to display alongside the message. Can be null.
+     * @param style     The style configuration for the notification.
+     * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @param priority  The priority of the notification. Can be null for a normal priority.
+     * @throws IllegalArgumentException If the title, the message or the style is null.
+     */
+    public ToastDescriptor(String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers, ToastPriority priority) {
+        this(title, message, icon, style, modifiers, priority, null, ToastCorner.BOTTOM_RIGHT);
+    }
+
+    /**
+     * Constructs a new ToastDescriptor.
+     *
+     * @param title     The title of the notification.
+     * @param message   The message to be displayed in the notification.
+     * @param icon      An icon to display alongside the message. Can be null.
+     * @param style     The style configuration for the notification.
+     * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @param priority  The priority of the notification. Can be null for a normal priority.
+     * @param screen    The screen on which the notification is displayed. Can be null for the default screen.
+     * @param corner    The corner of the screen in which the notification is stacked. Can be null for the bottom right corner.
+     * @throws IllegalArgumentException If the title, the message or the style is null.
+     */
+    public ToastDescriptor(String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers, ToastPriority priority, GraphicsDevice screen, ToastCorner corner) {
+        if (title == null) throw new IllegalArgumentException("Title must not be null");
+        if (message == null) throw new IllegalArgumentException("Message must not be null");
+        if (style == null) throw new IllegalArgumentException("Style must not be null");
+
+        this.title = title;
+        this.message = message;
+        this.icon = icon;
+        this.style = style;
+        this.modifiers = modifiers == null || modifiers.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(modifiers));
+        this.priority = priority != null ? priority : ToastPriority.NORMAL;
+        this.screen = screen;
+        this.corner = corner != null ? corner : ToastCorner.BOTTOM_RIGHT;
+    }
+
+    /**
+     * Returns a new builder with a normal priority and no modifiers.
+     *
+     * @return A new Builder instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new notification from this descriptor. The notification is not displayed.
+     *
+     * @return A new ToastNotification instance.
+     */
+    public ToastNotification toNotification() {
+        return new ToastNotification(this);
+    }
+
+    /**
+     * Returns a copy of this descriptor with another title.
+     *
+     * @param title The new title.
+     * @return A new ToastDescriptor instance.
+     */
+    public ToastDescriptor withTitle(String title) {
+        return new ToastDescriptor(title, this.message, this.icon, this.style, this.modifiers, this.priority, this.screen, this.corner);
+    }
+
+    /**
+     * Returns a copy of this descriptor with another message.
+     *
+     * @param message The new message.
+     * @return A new ToastDescriptor instance.
+     */
+    public ToastDescriptor withMessage(String message) {
+        return new ToastDescriptor(this.title, message, this.icon, this.style, this.modifiers, this.priority, this.screen, this.corner);
+    }
+
+    /**
+     * Returns a copy of this descriptor with another icon.
+     *
+     * @param icon The new icon, or null for none.
+     * @return A new ToastDescriptor instance.
+     */
+    public ToastDescriptor withIcon(Icon icon) {
+        return new ToastDescriptor(this.title, this.message, icon, this.style, this.modifiers, this.priority, this.screen, this.corner);
+    }
+
+    /**
+     * Returns the title of the notification.
+     *
+     * @return The title.
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Returns the message of the notification.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Returns the icon displayed alongside the message.
+     *
+     * @return The icon, or null if there is none.
+     */
+    public Icon getIcon() {
+        return this.icon;
+    }
+
+    /**
+     * Returns the style of the notification.
+     *
+     * @return The style.
+     */
+    public ToastStyle getStyle() {
+        return this.style;
+    }
+
+    /**
+     * Returns the modifiers of the notification.
+     *
+     * @return An unmodifiable list of modifiers.
+     */
+    public List<ToastModifier> getModifiers() {
+        return this.modifiers;
+    }
+
+    /**
+     * Returns the priority of the notification.
+     *
+     * @return The priority.
+     */
+    public ToastPriority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Returns the screen on which the notification is displayed.
+     *
+     * @return The screen, or null for the default screen at the time the notification is displayed.
+     */
+    public GraphicsDevice getScreen() {
+        return this.screen;
+    }
+
+    /**
+     * Returns the corner of the screen in which the notification is stacked.
+     *
+     * @return The corner.
+     */
+    public ToastCorner getCorner() {
+        return this.corner;
+    }
+
+    /**
+     * A builder of ToastDescriptor instances. Builders are not thread-safe, but the descriptors they build are.
+     */
+    public static final class Builder {
+        private final List<ToastModifier> modifiers = new ArrayList<>();
+        private String title;
+        private String message;
+        private Icon icon;
+        private ToastStyle style;
+        private ToastPriority priority = ToastPriority.NORMAL;
+        private GraphicsDevice screen;
+        private ToastCorner corner = ToastCorner.BOTTOM_RIGHT;
+
+        /**
+         * Constructs a new Builder.
+         */
+        private Builder() {}
+
+        /**
+         * Sets the title of the notification.
+         *
+         * @param title The title.
+         * @return This builder.
+         */
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        /**
+         * Sets the message of the notification.
+         *
+         * @param message The message.
+         * @return This builder.
+         */
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        /**
+         * Sets the icon displayed alongside the message.
+         *
+         * @param icon The icon, or null for none.
+         * @return This builder.
+         */
+        public Builder icon(Icon icon) {
+            this.icon = icon;
+            return this;
+        }
+
+        /**
+         * Sets the style of the notification.
+         *
+         * @param style The style.
+         * @return This builder.
+         */
+        public Builder style(ToastStyle style) {
+            this.style = style;
+            return this;
+        }
+
+        /**
+         * Adds a modifier to the notification.
+         *
+         * @param modifier The modifier to add.
+         * @return This builder.
+         */
+        public Builder modifier(ToastModifier modifier) {
+            this.modifiers.add(modifier);
+            return this;
+        }
+
+        /**
+         * Sets the priority of the notification.
+         *
+         * @param priority The priority.
+         * @return This builder.
+         */
+        public Builder priority(ToastPriority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Sets the screen on which the notification is displayed.
+         *
+         * @param screen The screen, or null for the default screen.
+         * @return This builder.
+         */
+        public Builder screen(GraphicsDevice screen) {
+            this.screen = screen;
+            return this;
+        }
+
+        /**
+         * Sets the corner of the screen in which the notification is stacked.
+         *
+         * @param corner The corner.
+         * @return This builder.
+         */
+        public Builder corner(ToastCorner corner) {
+            this.corner = corner;
+            return this;
+        }
+
+        /**
+         * Builds the descriptor.
+         *
+         * @return A new ToastDescriptor instance.
+         * @throws IllegalArgumentException If the title, the message or the style was not set.
+         */
+        public ToastDescriptor build() {
+            return new ToastDescriptor(this.title, this.message, this.icon, this.style, this.modifiers, this.priority, this.screen, this.corner);
+        }
+    }
+}
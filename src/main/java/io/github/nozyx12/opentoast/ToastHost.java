@@ -0,0 +1,93 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A surface owning the component tree of a notification, with the operations the notification needs to manage it.
+ */
+abstract class ToastHost implements ToastSurface {
+    protected final ToastContent content;
+
+    /**
+     * Constructs a new ToastHost and its component tree.
+     */
+    ToastHost() {
+        this.content = new ToastContent(this);
+    }
+
+    /**
+     * Applies the content and style of a notification, makes the surface transparent and resizes it accordingly.
+     *
+     * @param title       The title of the notification.
+     * @param message     The message to be displayed in the notification.
+     * @param icon        An icon to display alongside the message. Can be null.
+     * @param style       The style configuration for the notification.
+     * @param closeAction The action to run when the close button is pressed.
+     */
+    void skin(String title, String message, Icon icon, ToastStyle style, Runnable closeAction) {
+        this.content.skin(title, message, icon, style, closeAction);
+        this.setAlpha(0f);
+        this.pack();
+    }
+
+    /**
+     * Applies new content to the surface of a visible notification.
+     * The surface is only resized if the preferred size of its content changed.
+     *
+     * @param title    The title of the notification.
+     * @param message  The message to be displayed in the notification.
+     * @param icon     An icon to display alongside the message. Can be null.
+     * @param style    The style configuration for the notification.
+     * @param progress The progress shown by the progress bar, between 0 and 1, or a negative value to hide the bar.
+     * @return True if the surface was resized.
+     */
+    boolean update(String title, String message, Icon icon, ToastStyle style, float progress) {
+        this.content.update(title, message, icon, style, progress);
+
+        Dimension size = this.getBounds().getSize();
+        if (this.getPanel().getPreferredSize().equals(size)) return false;
+
+        this.pack();
+        return true;
+    }
+
+    /**
+     * Hides the surface and clears every reference to the notification that used it.
+     */
+    void reset() {
+        this.setVisible(false);
+        this.content.reset();
+    }
+
+    @Override
+    public JPanel getPanel() {
+        return this.content.getPanel();
+    }
+
+    /**
+     * Returns how the opacity of the surface is changed, which is chosen when the surface is skinned.
+     *
+     * @return The fade backend of the surface.
+     */
+    abstract FadeBackend getFadeBackend();
+
+    /**
+     * Shows or hides the surface.
+     *
+     * @param visible True to show the surface, false to hide it.
+     */
+    abstract void setVisible(boolean visible);
+
+    /**
+     * Resizes the surface to the preferred size of its content.
+     */
+    abstract void pack();
+
+    /**
+     * Releases the resources of the surface. The surface must not be used afterward.
+     */
+    abstract void dispose();
+}
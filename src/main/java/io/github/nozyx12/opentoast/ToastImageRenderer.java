@@ -0,0 +1,182 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.render.IconCache;
+import io.github.nozyx12.opentoast.render.RoundedBackgroundCache;
+import io.github.nozyx12.opentoast.render.TextLayoutCache;
+import io.github.nozyx12.opentoast.render.WrappedText;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicHTML;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Renders toast notifications into images, for emails, web pages or visual regression baselines.
+ * Notifications are painted directly with Java2D, following the layout of the on-screen notifications,
+ * without creating any Swing component or window: rendering works with {@code java.awt.headless=true}
+ * and can be done from many threads at once. Backgrounds, text layouts and scaled icons are shared
+ * with the on-screen notifications through {@link RoundedBackgroundCache}, {@link TextLayoutCache} and {@link IconCache}.
+ * <p>
+ * HTML messages are rendered as plain text, since the HTML renderer of Swing must run on the Event Dispatch Thread.
+ */
+public final class ToastImageRenderer {
+    private static final int PADDING = 10;
+    private static final int TITLE_GAP = 5;
+    private static final int MESSAGE_PADDING = 10;
+    private static final int ICON_PADDING = 10;
+    private static final Font BUTTON_FONT = new Font("Dialog", Font.BOLD, 12);
+    private static final Insets BUTTON_MARGIN = new Insets(2, 14, 2, 14);
+
+    /**
+     * Constructs a new ToastImageRenderer.
+     */
+    private ToastImageRenderer() {}
+
+    /**
+     * Renders a notification into an image at a scale of 1.
+     *
+     * @param descriptor The description of the notification.
+     * @return The rendered notification, with transparent corners.
+     */
+    public static BufferedImage render(ToastDescriptor descriptor) {
+        return render(descriptor, 1d);
+    }
+
+    /**
+     * Renders a notification into an image.
+     *
+     * @param descriptor The description of the notification.
+     * @param scale      The number of pixels per unit, for example 2 for an image matching a HiDPI screen.
+     * @return The rendered notification, with transparent corners.
+     */
+    public static BufferedImage render(ToastDescriptor descriptor, double scale) {
+        return render(descriptor.getTitle(), descriptor.getMessage(), descriptor.getIcon(), descriptor.getStyle(), scale);
+    }
+
+    /**
+     * Renders a notification into an image. This method can be called from any thread.
+     *
+     * @param title   The title of the notification.
+     * @param message The message to be displayed in the notification.
+     * @param icon    An icon to display alongside the message. Can be null.
+     * @param style   The style configuration for the notification.
+     * @param scale   The number of pixels per unit, for example 2 for an image matching a HiDPI screen.
+     * @return The rendered notification, with transparent corners.
+     */
+    public static BufferedImage render(String title, String message, Icon icon, ToastStyle style, double scale) {
+        if (style == null) throw new IllegalArgumentException("Style must not be null");
+        if (scale <= 0d) throw new IllegalArgumentException("Scale must be positive");
+
+        String titleText = "Notification: " + title;
+        Rectangle2D titleBounds = style.getTitleFont().getStringBounds(titleText, TextLayoutCache.RENDER_CONTEXT);
+        Rectangle2D buttonBounds = BUTTON_FONT.getStringBounds("X", TextLayoutCache.RENDER_CONTEXT);
+        WrappedText text = TextLayoutCache.getInstance().wrap(style.getMessageFont(), toPlainText(message), style.getMaxMessageWidth());
+        Icon scaledIcon = IconCache.getInstance().getIcon(icon, style.getIconSize(), null);
+
+        int buttonWidth = (int) Math.ceil(buttonBounds.getWidth()) + BUTTON_MARGIN.left + BUTTON_MARGIN.right;
+        int buttonHeight = (int) Math.ceil(buttonBounds.getHeight()) + BUTTON_MARGIN.top + BUTTON_MARGIN.bottom;
+        int titleWidth = (int) Math.ceil(titleBounds.getWidth());
+        int titleHeight = (int) Math.ceil(titleBounds.getHeight());
+        int topBarHeight = Math.max(titleHeight, buttonHeight) + TITLE_GAP;
+
+        int iconWidth = scaledIcon == null ? 0 : scaledIcon.getIconWidth() + 2 * ICON_PADDING;
+        int iconHeight = scaledIcon == null ? 0 : scaledIcon.getIconHeight();
+        int messageWidth = text.getWidth() + 2 * MESSAGE_PADDING;
+        int messageHeight = text.getHeight() + MESSAGE_PADDING;
+        int bodyHeight = Math.max(iconHeight, messageHeight);
+
+        int width = Math.max(titleWidth + buttonWidth, iconWidth + messageWidth) + 2 * PADDING;
+        int height = topBarHeight + bodyHeight + 2 * PADDING;
+
+        BufferedImage image = new BufferedImage((int) Math.ceil(width * scale), (int) Math.ceil(height * scale), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        TextLayoutCache.applyRenderingHints(g);
+
+        RoundedBackgroundCache.getInstance().paint(g, style, width, height);
+
+        // Title bar: the title on the left and the close button on the right, both vertically centered.
+        int innerWidth = width - 2 * PADDING;
+        int barHeight = topBarHeight - TITLE_GAP;
+        g.setColor(style.getBackgroundColor());
+        g.fillRect(PADDING, PADDING, innerWidth, topBarHeight);
+
+        g.setFont(style.getTitleFont());
+        g.setColor(style.getTitleColor());
+        g.drawString(titleText, PADDING, (float) (PADDING + (barHeight - titleBounds.getHeight()) / 2 - titleBounds.getY()));
+
+        int buttonX = width - PADDING - buttonWidth;
+        int buttonY = PADDING + (barHeight - buttonHeight) / 2;
+        g.setColor(Color.RED);
+        g.fillRect(buttonX, buttonY, buttonWidth, buttonHeight);
+        g.setFont(BUTTON_FONT);
+        g.setColor(Color.WHITE);
+        g.drawString("X", (float) (buttonX + (buttonWidth - buttonBounds.getWidth()) / 2), (float) (buttonY + BUTTON_MARGIN.top - buttonBounds.getY()));
+
+        int bodyY = PADDING + topBarHeight;
+        if (scaledIcon != null) scaledIcon.paintIcon(null, g, PADDING + ICON_PADDING, bodyY + (bodyHeight - iconHeight) / 2);
+
+        g.setColor(style.getTextColor());
+        text.draw(g, PADDING + iconWidth + MESSAGE_PADDING, bodyY);
+        g.dispose();
+
+        return image;
+    }
+
+    /**
+     * Renders many notifications in parallel on the common fork-join pool, using every core.
+     *
+     * @param descriptors The descriptions of the notifications.
+     * @param scale       The number of pixels per unit.
+     * @return The rendered notifications, in the order of the descriptors.
+     */
+    public static List<BufferedImage> renderAll(List<ToastDescriptor> descriptors, double scale) {
+        return descriptors.parallelStream().map(descriptor -> render(descriptor, scale)).collect(Collectors.toList());
+    }
+
+    /**
+     * Renders many notifications in parallel on the specified executor.
+     *
+     * @param descriptors The descriptions of the notifications.
+     * @param scale       The number of pixels per unit.
+     * @param executor    The executor running the rendering tasks.
+     * @return The rendered notifications, in the order of the descriptors.
+     * @throws InterruptedException If the current thread is interrupted while waiting for the images.
+     * @throws ExecutionException   If a notification could not be rendered.
+     */
+    public static List<BufferedImage> renderAll(List<ToastDescriptor> descriptors, double scale, ExecutorService executor) throws InterruptedException, ExecutionException {
+        List<Future<BufferedImage>> futures = new ArrayList<>(descriptors.size());
+        for (ToastDescriptor descriptor : descriptors) futures.add(executor.submit(() -> render(descriptor, scale)));
+
+        List<BufferedImage> images = new ArrayList<>(futures.size());
+
+        try {
+            for (Future<BufferedImage> future : futures) images.add(future.get());
+        } finally {
+            for (Future<BufferedImage> future : futures) future.cancel(false);
+        }
+
+        return images;
+    }
+
+    /**
+     * Returns the text of a message, without its tags if it is an HTML message.
+     *
+     * @param message The message of the notification. Can be null.
+     * @return The text to draw.
+     */
+    private static String toPlainText(String message) {
+        if (message == null) return "";
+        if (!BasicHTML.isHTMLString(message)) return message;
+
+        return message.replaceAll("(?i)<br\\s*/?>|</p>", "\n").replaceAll("<[^>]*>", "").replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&").trim();
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A debugging aid reporting notifications and toast windows that are still alive after being closed.
+ * When enabled, every closed notification is checked once a grace period has elapsed: if it is still reachable
+ * after a garbage collection, or if toast windows are still displayable while being neither pooled nor used,
+ * a report is printed to the standard error stream along with the stack trace of where the notification was created.
+ * Detection forces garbage collections, so it should only be enabled while debugging.
+ */
+public final class ToastLeakDetector {
+    private static final ToastLeakDetector INSTANCE = new ToastLeakDetector();
+
+    private final AtomicLong leaks = new AtomicLong();
+    private volatile boolean enabled = Boolean.getBoolean("opentoast.leakDetection");
+    private volatile int gracePeriod = 30_000;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructs a new ToastLeakDetector.
+     */
+    private ToastLeakDetector() {}
+
+    /**
+     * Returns the leak detector shared by all toast notifications.
+     *
+     * @return The shared ToastLeakDetector instance.
+     */
+    public static ToastLeakDetector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enables or disables leak detection. Disabled by default, unless the {@code opentoast.leakDetection} system property is true.
+     * Only notifications created while detection is enabled are checked.
+     *
+     * @param enabled True to enable leak detection.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether leak detection is enabled.
+     *
+     * @return True if leak detection is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Sets how long a closed notification may stay alive before being reported.
+     * It should be longer than the time references to closed notifications are legitimately kept, such as the coalescing window.
+     *
+     * @param gracePeriod The grace period in milliseconds.
+     */
+    public void setGracePeriod(int gracePeriod) {
+        if (gracePeriod < 0) throw new IllegalArgumentException("Grace period must not be negative");
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * Returns how long a closed notification may stay alive before being reported.
+     *
+     * @return The grace period in milliseconds.
+     */
+    public int getGracePeriod() {
+        return this.gracePeriod;
+    }
+
+    /**
+     * Returns how many leaks were reported.
+     *
+     * @return The number of reported leaks.
+     */
+    public long getLeakCount() {
+        return this.leaks.get();
+    }
+
+    /**
+     * Captures where a notification is created, if leak detection is enabled.
+     *
+     * @return The creation site of the notification, or null if leak detection is disabled.
+     */
+    Throwable captureOrigin() {
+        return this.enabled ? new Throwable("Toast notification created here") : null;
+    }
+
+    /**
+     * Schedules a check of a notification that was just closed. Does nothing if the notification was created
+     * while leak detection was disabled.
+     *
+     * @param toast  The closed notification.
+     * @param title  The title of the notification, used in reports.
+     * @param origin The creation site of the notification, as returned by {@link #captureOrigin()}.
+     */
+    void track(ToastNotification toast, String title, Throwable origin) {
+        if (origin == null || !this.enabled) return;
+
+        WeakReference<ToastNotification> reference = new WeakReference<>(toast);
+        this.getExecutor().schedule(() -> this.check(reference, title, origin), this.gracePeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether a closed notification and the toast windows are still alive, and reports them if so.
+     *
+     * @param reference A weak reference to the closed notification.
+     * @param title     The title of the notification.
+     * @param origin    The creation site of the notification.
+     */
+    private void check(WeakReference<ToastNotification> reference, String title, Throwable origin) {
+        if (reference.get() != null) System.gc();
+
+        if (reference.get() != null) {
+            this.leaks.incrementAndGet();
+            System.err.println("OpenToast leak: notification \"" + title + "\" is still reachable " + this.gracePeriod + " ms after being closed");
+            origin.printStackTrace();
+        }
+
+        SwingUtilities.invokeLater(this::checkWindows);
+    }
+
+    /**
+     * Reports toast windows that are still displayable while being neither pooled nor held by a notification.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void checkWindows() {
+        int displayable = 0;
+
+        for (Window window : Window.getWindows()) {
+            if (!window.isDisplayable() || !(window instanceof RootPaneContainer)) continue;
+
+            Container contentPane = ((RootPaneContainer) window).getContentPane();
+            if (contentPane instanceof JComponent && ((JComponent) contentPane).getClientProperty(ToastSurface.CLIENT_PROPERTY) instanceof ToastWindow) displayable++;
+        }
+
+        ToastWindowPool pool = ToastWindowPool.getInstance();
+        int leaked = displayable - pool.getIdleCount() - pool.getLeasedCount();
+        if (leaked <= 0) return;
+
+        this.leaks.addAndGet(leaked);
+        System.err.println("OpenToast leak: " + leaked + " toast window(s) are still displayable without being pooled or used");
+    }
+
+    /**
+     * Returns the executor running the checks, creating it on first use.
+     *
+     * @return The executor of the leak detector.
+     */
+    private synchronized ScheduledExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "OpenToast Leak Detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return this.executor;
+    }
+}
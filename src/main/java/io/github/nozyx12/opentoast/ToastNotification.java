@@ -1,251 +1,916 @@
 package io.github.nozyx12.opentoast;
 
+import io.github.nozyx12.opentoast.animation.AnimationScheduler;
+import io.github.nozyx12.opentoast.history.ToastHistory;
+import io.github.nozyx12.opentoast.history.ToastOutcome;
+import io.github.nozyx12.opentoast.layout.ToastStackLayout;
+import io.github.nozyx12.opentoast.metrics.ToastRecorder;
+import io.github.nozyx12.opentoast.modifier.AnimationPhase;
+import io.github.nozyx12.opentoast.modifier.CompositeAnimation;
 import io.github.nozyx12.opentoast.modifier.ToastModifier;
 import io.github.nozyx12.opentoast.style.ToastStyle;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents a toast notification that can be displayed on the screen.
  * The notification has a customizable appearance and can automatically close after a specified duration.
+ * Notifications that do not fit on the screen wait in the {@link ToastQueue} until a place is freed.
  */
 public class ToastNotification {
     private final int autoClose = 5000;
-
-    private final JDialog dialog;
-    private final CountDownLatch latch;
-    private final ToastStyle style;
-    public static final List<JDialog> activeNotifications = new ArrayList<>();
+    private int displayTime = this.autoClose;
+    private long autoCloseDeadline;
+    private boolean preempted;
+
+    private final AtomicReference<ToastDescriptor> descriptor;
+    private final AtomicBoolean updateScheduled;
+    private volatile float progress = -1f;
+    private volatile long lastUpdate;
+    private final CompletableFuture<ToastNotification> shown;
+    private final CompletableFuture<ToastNotification> closed;
+    private final AtomicBoolean submitted;
+    private final AtomicInteger repeatCount;
     private static final int MARGIN = 10;
-    private final List<ToastModifier> modifiers;
+    private static final int REFLOW_DURATION = 200;
+    private static final AtomicBoolean pumpScheduled = new AtomicBoolean();
+    private static volatile int fadeInDuration = 300;
+    private static volatile int fadeOutDuration = 500;
+    private static volatile ToastRenderingMode renderingMode = ToastRenderingMode.WINDOW;
+    private ToastHost host;
+    private final AtomicReference<ToastState> state;
+    private final Throwable origin;
+    private final long creationTime;
+    private AnimationScheduler.Handle fadeInHandle;
+    private AnimationScheduler.Handle autoCloseHandle;
+    private AnimationScheduler.Handle reflowHandle;
+    private AnimationScheduler.Handle fadeOutHandle;
+    private ToastStackLayout.Slot slot;
+    private ToastStackLayout stack;
+    private Rectangle area;
+    private int height;
+    private long requestTime;
+    private Object displayEvent;
+    private Object closeEvent;
 
     /**
-     * Constructs a new ToastNotification instance.
+     * Constructs a new ToastNotification instance with a normal priority.
      *
      * @param title     The title of the notification.
      * @param message   The message to be displayed in the notification.
      * @param icon      An icon to display alongside the message. Can be null.
      * @param style     The style configuration for the notification.
      * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @throws IllegalArgumentException If the title, the message or the style is null.
      */
     public ToastNotification(String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers) {
-        this.latch = new CountDownLatch(1);
+        this(title, message, icon, style, modifiers, ToastPriority.NORMAL);
+    }
 
-        if (modifiers != null) this.modifiers = modifiers;
-        else this.modifiers = new ArrayList<>();
+    /**
+     * Constructs a new ToastNotification instance.
+     *
+     * @param title     The title of the notification.
+     * @param message   The message to be displayed in the notification.
+     * @param icon      An icon to display alongside the message. Can be null.
+     * @param style     The style configuration for the notification.
+     * @param modifiers A list of modifiers to customize the notification behavior. Can be null.
+     * @param priority  The priority of the notification, used when the pending queue overflows.
+     * @throws IllegalArgumentException If the title, the message or the style is null.
+     */
+    public ToastNotification(String title, String message, Icon icon, ToastStyle style, List<ToastModifier> modifiers, ToastPriority priority) {
+        this(new ToastDescriptor(title, message, icon, style, modifiers, priority));
+    }
 
-        this.style = style;
-        this.dialog = this.createDialog(title, message, icon);
-        this.setPosition();
-        this.dialog.setOpacity(0f);
-        this.dialog.setAlwaysOnTop(true);
+    /**
+     * Constructs a new ToastNotification instance from a descriptor.
+     * The constructor does not touch Swing and can be called from any thread; the window of the notification
+     * is only created on the Event Dispatch Thread once the notification gets a place on the screen.
+     *
+     * @param descriptor The description of the notification.
+     */
+    public ToastNotification(ToastDescriptor descriptor) {
+        if (descriptor == null) throw new IllegalArgumentException("Descriptor must not be null");
+
+        this.descriptor = new AtomicReference<>(descriptor);
+        this.updateScheduled = new AtomicBoolean();
+        this.shown = new CompletableFuture<>();
+        this.closed = new CompletableFuture<>();
+        this.submitted = new AtomicBoolean();
+        this.repeatCount = new AtomicInteger(1);
+        this.state = new AtomicReference<>(ToastState.CREATED);
+        this.origin = ToastLeakDetector.getInstance().captureOrigin();
+        this.creationTime = System.currentTimeMillis();
+
+        ToastRecorder.created();
     }
 
     /**
      * Displays the toast notification with a fade-in effect.
+     * When called outside the Event Dispatch Thread, this method blocks until the fade-in is finished,
+     * including the time spent waiting in the pending queue.
+     * When called on the Event Dispatch Thread, it returns immediately since the fade-in runs on that thread.
+     *
+     * @throws ToastStackOverflowException If the notification was dropped by the pending queue.
      */
     public void display() {
-        this.fadeIn();
+        CompletableFuture<ToastNotification> future = this.displayAsync();
+        if (SwingUtilities.isEventDispatchThread()) return;
+
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Displays the toast notification with a fade-in effect without blocking the calling thread,
+     * unless the pending queue is full and its policy is {@link OverflowPolicy#BLOCK}.
+     * This method can be called from any thread.
+     *
+     * @return A future completed once the notification is fully shown,
+     * or completed exceptionally with a {@link ToastStackOverflowException} if the notification is dropped.
+     */
+    public CompletableFuture<ToastNotification> displayAsync() {
+        if (!this.submitted.compareAndSet(false, true)) return this.shown;
+
+        this.requestTime = System.nanoTime();
+        if (ToastQueue.getInstance().submit(this)) schedulePump();
+        return this.shown;
     }
 
     /**
      * Closes the toast notification with a fade-out effect.
+     * This method can be called from any thread and does not wait for the fade-out to finish.
      */
     public void close() {
-        this.fadeOut();
+        this.closeAsync();
+    }
+
+    /**
+     * Closes the toast notification with a fade-out effect without blocking the calling thread.
+     * A notification still waiting in the pending queue is removed from it.
+     * This method can be called from any thread.
+     *
+     * @return A future completed once the notification is closed.
+     */
+    public CompletableFuture<ToastNotification> closeAsync() {
+        runOnEventDispatchThread(this::fadeOut);
+        return this.closed;
+    }
+
+    /**
+     * Returns a future completed once the notification is fully shown,
+     * or once it starts closing if it is closed before the end of its fade-in.
+     * The future is completed exceptionally with a {@link ToastStackOverflowException} if the notification is dropped,
+     * or with the exception thrown while creating its window if it cannot be shown.
+     *
+     * @return The future tracking the display of the notification.
+     */
+    public CompletableFuture<ToastNotification> whenShown() {
+        return this.shown;
+    }
+
+    /**
+     * Returns a future completed once the notification is closed or dropped.
+     *
+     * @return The future tracking the closing of the notification.
+     */
+    public CompletableFuture<ToastNotification> whenClosed() {
+        return this.closed;
     }
 
     /**
      * Blocks the current thread until the notification is closed.
+     * Prefer {@link #whenClosed()} to avoid parking a thread, and never call this method on the Event Dispatch Thread.
      */
     public void waitFor() {
-        try {
-            this.latch.await();
-        } catch (InterruptedException ignored) {}
+        this.closed.join();
+    }
+
+    /**
+     * Returns the description of the notification.
+     *
+     * @return The descriptor of the notification, including the updates made since it was created.
+     */
+    public ToastDescriptor getDescriptor() {
+        return this.descriptor.get();
+    }
+
+    /**
+     * Replaces the title of the notification, in place if it is visible.
+     * This method can be called from any thread; updates are coalesced into at most one per frame.
+     *
+     * @param title The new title.
+     */
+    public void setTitle(String title) {
+        this.descriptor.updateAndGet(descriptor -> descriptor.withTitle(title));
+        this.requestUpdate();
+    }
+
+    /**
+     * Replaces the message of the notification, in place if it is visible.
+     * This method can be called from any thread; updates are coalesced into at most one per frame.
+     *
+     * @param message The new message.
+     */
+    public void setMessage(String message) {
+        this.descriptor.updateAndGet(descriptor -> descriptor.withMessage(message));
+        this.requestUpdate();
+    }
+
+    /**
+     * Replaces the icon of the notification, in place if it is visible.
+     * This method can be called from any thread; updates are coalesced into at most one per frame.
+     *
+     * @param icon The new icon, or null to remove it.
+     */
+    public void setIcon(Icon icon) {
+        this.descriptor.updateAndGet(descriptor -> descriptor.withIcon(icon));
+        this.requestUpdate();
+    }
+
+    /**
+     * Shows a progress bar at the bottom of the notification, or updates it.
+     * This method can be called from any thread; updates are coalesced into at most one per frame.
+     *
+     * @param progress The progress, between 0 and 1, or a negative value to hide the progress bar.
+     */
+    public void setProgress(float progress) {
+        this.progress = progress;
+        this.requestUpdate();
+    }
+
+    /**
+     * Returns the progress shown by the progress bar.
+     *
+     * @return The progress, between 0 and 1, or a negative value if the progress bar is hidden.
+     */
+    public float getProgress() {
+        return this.progress;
+    }
+
+    /**
+     * Returns the priority of the notification.
+     *
+     * @return The priority.
+     */
+    public ToastPriority getPriority() {
+        return this.getDescriptor().getPriority();
+    }
+
+    /**
+     * Returns how many identical notifications were merged into this one, including itself.
+     *
+     * @return The repeat count of the notification.
+     */
+    public int getRepeatCount() {
+        return this.repeatCount.get();
+    }
+
+    /**
+     * Returns the current lifecycle state of the notification.
+     *
+     * @return The state of the notification.
+     */
+    public ToastState getState() {
+        return this.state.get();
+    }
+
+    /**
+     * Returns how the notification fades in and out: the backend of its surface once it is displayed,
+     * otherwise the backend new windows get on its screen.
+     *
+     * @return The fade backend of the notification.
+     */
+    public FadeBackend getFadeBackend() {
+        ToastHost host = this.host;
+        if (host != null) return host.getFadeBackend();
+
+        return DisplayCapabilities.getInstance().getFadeBackend(ScreenGeometry.getConfiguration(this.getDescriptor().getScreen()).getDevice());
+    }
+
+    /**
+     * Returns the number of notifications currently stacked on all screens.
+     *
+     * @return The number of active notifications.
+     */
+    public static int getActiveNotificationCount() {
+        return ToastScheduler.getInstance().getActiveCount();
+    }
+
+    /**
+     * Merges an identical notification into this one: the repeat counter shown in the title is incremented
+     * and the automatic closing is postponed. May be called from any thread.
+     *
+     * @return True if the notification was merged, false if this notification is already closing.
+     */
+    boolean coalesce() {
+        if (this.isClosing()) return false;
+
+        this.repeatCount.incrementAndGet();
+        this.requestUpdate();
+        runOnEventDispatchThread(() -> {
+            if (this.isClosing()) return;
+
+            if (this.autoCloseHandle != null && !this.autoCloseHandle.isCancelled()) this.scheduleAutoClose(this.displayTime);
+        });
+
+        return true;
+    }
+
+    /**
+     * Schedules the content of the notification to be applied to its surface.
+     * Requests made before the update runs are merged, and updates are spaced by at least one frame.
+     * May be called from any thread.
+     */
+    private void requestUpdate() {
+        if (!this.updateScheduled.compareAndSet(false, true)) return;
+
+        long frameDelay = TimeUnit.SECONDS.toNanos(1) / AnimationScheduler.getInstance().getFrameRate();
+        long delay = Math.max(0L, this.lastUpdate + frameDelay - System.nanoTime());
+
+        AnimationScheduler.getInstance().schedule(this::applyUpdate, (int) TimeUnit.NANOSECONDS.toMillis(delay));
+    }
+
+    /**
+     * Applies the current content of the notification to its surface. If the size of the surface changed,
+     * the slot of the notification is resized and the notification moved back into its corner;
+     * while the display animation runs, only its vertical position follows the resized slot.
+     * A notification without surface yet picks up its content when its surface is created.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void applyUpdate() {
+        this.updateScheduled.set(false);
+        this.lastUpdate = System.nanoTime();
+
+        if (this.host == null || this.isClosing()) return;
+
+        ToastDescriptor descriptor = this.getDescriptor();
+        if (!this.host.update(this.getDisplayedTitle(), descriptor.getMessage(), descriptor.getIcon(), descriptor.getStyle(), this.progress)) return;
+
+        this.height = this.host.getBounds().height;
+
+        if (this.slot != null) {
+            this.stack.resize(this.slot, this.height);
+
+            // The modifiers own the horizontal position while the display animation runs, only follow the stack.
+            if (this.fadeInHandle != null) this.host.setLocation(this.host.getBounds().x, this.getStackY());
+            else this.setPosition();
+        }
+    }
+
+    /**
+     * Shortens the time the notification stays on the screen, to make room for a more important one.
+     * The display time is never extended. Must be called on the Event Dispatch Thread.
+     *
+     * @param delay The maximum remaining display time in milliseconds.
+     */
+    void shorten(int delay) {
+        if (this.isClosing()) return;
+
+        this.preempted = true;
+        this.displayTime = Math.min(this.displayTime, delay);
+
+        if (this.autoCloseHandle != null && !this.autoCloseHandle.isCancelled()
+                && this.autoCloseDeadline - System.nanoTime() > TimeUnit.MILLISECONDS.toNanos(delay)) {
+            this.scheduleAutoClose(delay);
+        }
+    }
+
+    /**
+     * Returns whether the notification was shortened to make room for a more important one.
+     * Must be called on the Event Dispatch Thread.
+     *
+     * @return True if the notification was preempted.
+     */
+    boolean isPreempted() {
+        return this.preempted;
+    }
+
+    /**
+     * Schedules the automatic closing of the notification, replacing any previously scheduled one.
+     * Must be called on the Event Dispatch Thread.
+     *
+     * @param delay The delay in milliseconds before the notification closes.
+     */
+    private void scheduleAutoClose(int delay) {
+        if (this.autoCloseHandle != null) this.autoCloseHandle.cancel();
+
+        this.autoCloseDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        this.autoCloseHandle = AnimationScheduler.getInstance().schedule(this::fadeOut, delay);
+    }
+
+    /**
+     * Moves the notification forward to the specified state. Moving backwards or to the current state has no effect,
+     * which makes every transition idempotent. May be called from any thread.
+     *
+     * @param target The state to move to.
+     * @return The previous state, or null if the notification already reached or passed the target state.
+     */
+    private ToastState advance(ToastState target) {
+        while (true) {
+            ToastState current = this.state.get();
+            if (current.compareTo(target) >= 0) return null;
+            if (this.state.compareAndSet(current, target)) return current;
+        }
+    }
+
+    /**
+     * Returns whether the notification is closing or closed.
+     *
+     * @return True if the notification reached the {@link ToastState#CLOSING} state.
+     */
+    private boolean isClosing() {
+        return this.state.get().compareTo(ToastState.CLOSING) >= 0;
+    }
+
+    /**
+     * Cancels every animation and delayed task of the notification.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void cancelTimers() {
+        if (this.fadeInHandle != null) this.fadeInHandle.cancel();
+        if (this.autoCloseHandle != null) this.autoCloseHandle.cancel();
+        if (this.reflowHandle != null) this.reflowHandle.cancel();
+        if (this.fadeOutHandle != null) this.fadeOutHandle.cancel();
+
+        this.fadeInHandle = null;
+        this.autoCloseHandle = null;
+        this.reflowHandle = null;
+        this.fadeOutHandle = null;
+    }
+
+    /**
+     * Moves the notification to the {@link ToastState#CLOSED} state: cancels its timers, releases its surface
+     * and completes the closing future. Must be called on the Event Dispatch Thread; calling it again has no effect.
+     *
+     * @return True if the notification was closed by this call.
+     */
+    private boolean finish() {
+        if (this.advance(ToastState.CLOSED) == null) return false;
+
+        this.cancelTimers();
+        this.discard();
+        this.closed.complete(this);
+        if (!this.shown.isCompletedExceptionally()) this.recordHistory(ToastOutcome.CLOSED);
+        ToastLeakDetector.getInstance().track(this, this.getDescriptor().getTitle(), this.origin);
+        return true;
+    }
+
+    /**
+     * Records what happened to the notification in the {@link ToastHistory}.
+     *
+     * @param outcome What happened to the notification.
+     */
+    private void recordHistory(ToastOutcome outcome) {
+        ToastDescriptor descriptor = this.getDescriptor();
+        ToastHistory.getInstance().record(descriptor.getTitle(), descriptor.getMessage(), descriptor.getStyle(), this.creationTime, outcome);
+    }
+
+    /**
+     * Returns the title shown in the window, followed by the repeat counter if identical notifications were merged.
+     *
+     * @return The displayed title.
+     */
+    private String getDisplayedTitle() {
+        int count = this.repeatCount.get();
+        return count > 1 ? this.getDescriptor().getTitle() + " \u00D7" + count : this.getDescriptor().getTitle();
+    }
+
+    /**
+     * Sets how notifications are put on the screen. Notifications already on the screen keep their current mode.
+     * The {@link ToastRenderingMode#OVERLAY} mode is only applied if the default screen supports it.
+     *
+     * @param mode The rendering mode.
+     * @return True if the mode was applied, false if it is not supported on this screen.
+     */
+    public static boolean setRenderingMode(ToastRenderingMode mode) {
+        if (mode == ToastRenderingMode.OVERLAY && !ToastOverlay.isSupported(ScreenGeometry.getConfiguration(null).getDevice())) return false;
+
+        renderingMode = mode;
+        return true;
+    }
+
+    /**
+     * Returns how notifications are put on the screen.
+     *
+     * @return The rendering mode.
+     */
+    public static ToastRenderingMode getRenderingMode() {
+        return renderingMode;
+    }
+
+    /**
+     * Sets the duration of the fade-in of the notifications displayed from now on.
+     * Fades are time-based: frames delivered late by a busy Event Dispatch Thread are skipped rather than stretching the fade.
+     *
+     * @param duration The fade-in duration in milliseconds, 0 to show notifications immediately.
+     */
+    public static void setFadeInDuration(int duration) {
+        if (duration < 0) throw new IllegalArgumentException("Fade duration must not be negative");
+        fadeInDuration = duration;
     }
 
     /**
-     * Creates the JDialog for the toast notification.
+     * Returns the duration of the fade-in.
      *
-     * @param title   The title of the notification.
-     * @param message The message to be displayed in the notification.
-     * @param icon    An icon to display alongside the message. Can be null.
-     * @return The created JDialog for the notification.
+     * @return The fade-in duration in milliseconds.
      */
-    private JDialog createDialog(String title, String message, Icon icon) {
-        JDialog dialog = new JDialog();
-        dialog.setUndecorated(true);
-        dialog.setBackground(new Color(0, 0, 0, 0));
+    public static int getFadeInDuration() {
+        return fadeInDuration;
+    }
 
-        JPanel panel = new RoundedPane(style);
-        panel.setLayout(new BorderLayout());
-        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    /**
+     * Sets the duration of the fade-out of the notifications closed from now on.
+     * A notification closed while still fading in fades out in proportion to its current opacity.
+     *
+     * @param duration The fade-out duration in milliseconds, 0 to hide notifications immediately.
+     */
+    public static void setFadeOutDuration(int duration) {
+        if (duration < 0) throw new IllegalArgumentException("Fade duration must not be negative");
+        fadeOutDuration = duration;
+    }
 
-        JPanel topBar = new JPanel();
-        topBar.setBackground(style.getBackgroundColor());
-        topBar.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
-        topBar.setLayout(new BorderLayout());
+    /**
+     * Returns the duration of the fade-out.
+     *
+     * @return The fade-out duration in milliseconds.
+     */
+    public static int getFadeOutDuration() {
+        return fadeOutDuration;
+    }
 
-        JLabel titleLabel = new JLabel("Notification: " + title);
-        titleLabel.setForeground(style.getTitleColor());
-        titleLabel.setFont(style.getTitleFont());
-        topBar.add(titleLabel, BorderLayout.CENTER);
+    /**
+     * Marks the notification as dropped by the pending queue. May be called from any thread.
+     */
+    void drop() {
+        ToastRecorder.dropped(this.getDescriptor().getTitle());
+        this.shown.completeExceptionally(new ToastStackOverflowException());
+        this.recordHistory(ToastOutcome.DROPPED);
+        runOnEventDispatchThread(this::finish);
+    }
 
-        JButton closeButton = new JButton("X");
-        closeButton.addActionListener(e -> fadeOut());
-        closeButton.setFocusPainted(false);
-        closeButton.setBorderPainted(false);
-        closeButton.setBackground(Color.RED);
-        closeButton.setForeground(Color.WHITE);
-        topBar.add(closeButton, BorderLayout.EAST);
+    /**
+     * Closes the notification after its surface failed to be created, completing {@link #whenShown()} exceptionally.
+     * The surface is disposed rather than returned to the pool, since it may be half skinned.
+     * Must be called on the Event Dispatch Thread.
+     *
+     * @param cause The exception thrown while creating the surface.
+     */
+    private void fail(RuntimeException cause) {
+        ToastHost host = this.host;
+        this.host = null;
 
-        panel.add(topBar, BorderLayout.NORTH);
+        if (host instanceof ToastWindow) ToastWindowPool.getInstance().discard((ToastWindow) host);
+        else if (host != null) host.dispose();
 
-        JLabel messageLabel = new JLabel(message);
-        messageLabel.setForeground(style.getTextColor());
-        messageLabel.setFont(style.getMessageFont());
-        messageLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
-        panel.add(messageLabel, BorderLayout.CENTER);
+        ToastRecorder.dropped(this.getDescriptor().getTitle());
+        this.shown.completeExceptionally(cause);
+        this.recordHistory(ToastOutcome.DROPPED);
+        this.finish();
+    }
+
+    /**
+     * Requests the pending notifications to be shown on the Event Dispatch Thread.
+     * Multiple requests made before the queue is processed are merged into one.
+     */
+    private static void schedulePump() {
+        if (pumpScheduled.compareAndSet(false, true)) SwingUtilities.invokeLater(ToastNotification::showPending);
+    }
+
+    /**
+     * Shows waiting notifications, most important first, for as long as their stack has room for them.
+     * When a notification does not fit, the {@link ToastScheduler} may preempt a less important visible one of its stack,
+     * and the following notifications of that stack keep waiting, while the notifications of other screens and corners are still shown.
+     * A notification whose surface cannot be created is removed from the queue and closed, so it never blocks the others.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private static void showPending() {
+        pumpScheduled.set(false);
+
+        ToastQueue queue = ToastQueue.getInstance();
+        Set<ToastStackLayout> fullStacks = new HashSet<>();
 
-        if (icon != null) {
-            JLabel iconLabel = new JLabel(icon);
-            iconLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
-            panel.add(iconLabel, BorderLayout.WEST);
+        for (ToastNotification next : queue.snapshot()) {
+            if (next.getState() != ToastState.CREATED) {
+                queue.remove(next);
+                continue;
+            }
+
+            ToastStackLayout stack;
+            boolean reserved;
+
+            try {
+                stack = next.getTargetStack();
+                if (fullStacks.contains(stack)) continue;
+
+                reserved = next.reserve();
+            } catch (RuntimeException e) {
+                queue.remove(next);
+                next.fail(e);
+                continue;
+            }
+
+            if (!reserved) {
+                if (stack.getSlotCount() > 0) {
+                    ToastScheduler.getInstance().preempt(next, stack);
+                    fullStacks.add(stack);
+                    continue;
+                }
+
+                // The notification does not fit even on an empty screen, it will never be shown.
+                if (queue.remove(next)) next.drop();
+                continue;
+            }
+
+            if (queue.remove(next)) next.fadeIn();
         }
+    }
+
+    /**
+     * Returns the stack of the screen and corner the notification is displayed in.
+     *
+     * @return The target stack of the notification.
+     */
+    private ToastStackLayout getTargetStack() {
+        GraphicsConfiguration config = ScreenGeometry.getConfiguration(this.getDescriptor().getScreen());
+        return ToastScheduler.getInstance().getStack(config, this.getDescriptor().getCorner(), MARGIN);
+    }
 
-        dialog.setContentPane(panel);
-        dialog.pack();
+    /**
+     * Reserves the place of the notification in the stack, then creates its window.
+     * Once the height of the notification is known, a notification waiting for room only retries the reservation,
+     * without holding or creating a window. Must be called on the Event Dispatch Thread.
+     *
+     * @return True if the notification has a place on the screen, false if there is not enough space.
+     */
+    private boolean reserve() {
+        if (this.slot != null) return true;
+        if (this.height > 0 && !this.reserveSlot(this.height)) return false;
+
+        long startTime = System.nanoTime();
+        Object createEvent = ToastRecorder.beginCreate();
+
+        GraphicsConfiguration config = ScreenGeometry.getConfiguration(this.getDescriptor().getScreen());
+
+        if (renderingMode == ToastRenderingMode.OVERLAY && ToastOverlay.isSupported(config.getDevice())) this.host = new OverlayToastSurface(config);
+        else this.host = ToastWindowPool.getInstance().acquire(config);
+
+        ToastDescriptor descriptor = this.getDescriptor();
+        this.host.skin(this.getDisplayedTitle(), descriptor.getMessage(), descriptor.getIcon(), descriptor.getStyle(), this::fadeOut);
+        if (this.progress >= 0f) this.host.update(this.getDisplayedTitle(), descriptor.getMessage(), descriptor.getIcon(), descriptor.getStyle(), this.progress);
+
+        ToastRecorder.endCreate(createEvent, startTime, this.getDescriptor().getTitle());
+
+        int hostHeight = this.host.getBounds().height;
+
+        if (this.slot != null && this.slot.getHeight() != hostHeight) this.releaseSlot();
+        this.height = hostHeight;
+
+        if (this.slot == null && !this.reserveSlot(hostHeight)) {
+            this.releaseHost();
+            return false;
+        }
 
-        return dialog;
+        this.setPosition();
+        return true;
+    }
+
+    /**
+     * Reserves a slot at the end of the stack of active notifications of the target screen and corner.
+     * The usable area of the screen comes from the {@link ScreenGeometry} cache.
+     *
+     * @param height The height of the notification.
+     * @return True if the slot was reserved, false if there is not enough space.
+     */
+    private boolean reserveSlot(int height) {
+        GraphicsConfiguration config = ScreenGeometry.getConfiguration(this.getDescriptor().getScreen());
+
+        this.area = ScreenGeometry.getInstance().getUsableBounds(config);
+        this.stack = this.getTargetStack();
+        this.slot = this.stack.reserve(height, this.area.height - MARGIN, movedSlot -> runOnEventDispatchThread(this::reflow));
+
+        if (this.slot == null) return false;
+
+        ToastScheduler.getInstance().occupy(this.stack, this);
+        ToastRecorder.activeChanged(getActiveNotificationCount());
+        return true;
     }
 
     /**
-     * Sets the position of the notification on the screen.
-     * The notification will appear in the bottom right corner of the screen.
-     * If there is not enough space, a ToastStackOverflowException will be thrown.
+     * Sets the position of the notification on the screen, matching its slot.
+     * The notification will appear in its corner of the target screen, at the end of the stack of active notifications.
      */
     private void setPosition() {
-        GraphicsConfiguration config = this.dialog.getGraphicsConfiguration();
-        Rectangle screenBounds = config.getBounds();
-        Insets screenInsets = Toolkit.getDefaultToolkit().getScreenInsets(config);
+        int width = this.host.getBounds().width;
+        int x = this.getDescriptor().getCorner().isRight() ? this.area.x + this.area.width - width - MARGIN : this.area.x + MARGIN;
 
-        int availableHeight = screenBounds.height - screenInsets.bottom;
+        this.host.setLocation(x, this.getStackY());
+    }
 
-        int dialogWidth = this.dialog.getWidth();
-        int dialogHeight = this.dialog.getHeight();
+    /**
+     * Returns the vertical position matching the current slot of the notification.
+     *
+     * @return The y coordinate of the notification.
+     */
+    private int getStackY() {
+        if (this.getDescriptor().getCorner().isBottom()) return this.area.y + this.area.height - MARGIN - this.slot.getOffset() - this.slot.getHeight();
+        return this.area.y + MARGIN + this.slot.getOffset();
+    }
 
-        int x = screenBounds.width - dialogWidth - MARGIN;
-        int y = availableHeight - dialogHeight - MARGIN;
+    /**
+     * Moves the notification to its current slot with a short animation, after a notification below it was closed.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void reflow() {
+        if (this.isClosing() || this.slot == null) return;
+        if (this.reflowHandle != null) this.reflowHandle.cancel();
 
-        for (JDialog activeDialog : activeNotifications) y -= (activeDialog.getHeight() + MARGIN);
+        int startY = this.host.getBounds().y;
+        long startTime = System.nanoTime();
 
-        if (y < 0) throw new ToastStackOverflowException();
+        this.reflowHandle = AnimationScheduler.getInstance().animate(frameTimeNanos -> {
+            float progress = Math.max(0f, Math.min(1f, (frameTimeNanos - startTime) / (REFLOW_DURATION * 1_000_000f)));
+            int endY = this.getStackY();
 
-        this.dialog.setLocation(x, y);
-        activeNotifications.add(this.dialog);
+            this.host.setLocation(this.host.getBounds().x, startY + (int) ((endY - startY) * progress));
+
+            return progress < 1f;
+        });
+    }
+
+    /**
+     * Releases the slot and the surface of the notification, if it holds them.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void discard() {
+        if (this.reflowHandle != null) this.reflowHandle.cancel();
+
+        this.releaseSlot();
+        this.releaseHost();
+    }
+
+    /**
+     * Releases the slot of the notification, if it holds one, and lets waiting notifications take the freed room.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void releaseSlot() {
+        if (this.slot == null) return;
+
+        this.stack.release(this.slot);
+        ToastScheduler.getInstance().vacate(this.stack, this);
+        this.slot = null;
+        ToastRecorder.activeChanged(getActiveNotificationCount());
+        schedulePump();
+    }
+
+    /**
+     * Releases the surface of the notification, if it holds one. Windows are returned to the {@link ToastWindowPool}.
+     * Must be called on the Event Dispatch Thread.
+     */
+    private void releaseHost() {
+        if (this.host instanceof ToastWindow) {
+            ToastWindowPool.getInstance().release((ToastWindow) this.host);
+        } else if (this.host != null) {
+            this.host.reset();
+            this.host.dispose();
+        }
+
+        this.host = null;
     }
 
     /**
      * Fades in the notification, making it visible.
-     * The notification will also start a timer for automatic closing after a predefined duration.
+     * The fade is driven by the shared {@link AnimationScheduler}, which also schedules the automatic closing
+     * after a predefined duration. Animated modifiers are ticked from the same frame callback.
+     * Surfaces using {@link FadeBackend#INSTANT} are shown at full opacity on the first frame.
+     * Must be called on the Event Dispatch Thread.
      */
     private void fadeIn() {
-        this.dialog.setVisible(true);
+        if (this.advance(ToastState.SHOWING) != ToastState.CREATED) return;
 
-        JPanel panel = (JPanel) this.dialog.getContentPane();
-        for (ToastModifier modifier : this.modifiers) modifier.onDisplay(panel);
+        this.displayEvent = ToastRecorder.beginDisplay();
+        this.host.setVisible(true);
 
-        this.dialog.pack();
+        JPanel panel = this.host.getPanel();
+        for (ToastModifier modifier : this.getDescriptor().getModifiers()) modifier.onDisplay(panel);
 
-        CountDownLatch fadeInLatch = new CountDownLatch(1);
+        this.host.pack();
 
-        new Timer(10, new ActionListener() {
+        long startTime = System.nanoTime();
+        long duration = this.host.getFadeBackend() == FadeBackend.INSTANT ? 0L : TimeUnit.MILLISECONDS.toNanos(fadeInDuration);
+        CompositeAnimation animation = CompositeAnimation.start(this.getDescriptor().getModifiers(), this.host, AnimationPhase.DISPLAY, startTime);
+
+        this.fadeInHandle = AnimationScheduler.getInstance().animate(new AnimationScheduler.FrameCallback() {
             float opacity = 0f;
 
             @Override
-            public void actionPerformed(ActionEvent e) {
-                if (opacity < 1f) {
-                    opacity += 0.05f;
-                    opacity = Math.min(opacity, 1f);
-                    ToastNotification.this.dialog.setOpacity(opacity);
-                } else {
-                    ((Timer) e.getSource()).stop();
-                    fadeInLatch.countDown();
-                    new Timer(ToastNotification.this.autoClose, e1 -> fadeOut()).start();
+            public boolean onFrame(long frameTimeNanos) {
+                boolean animating = animation != null && animation.onFrame(frameTimeNanos);
+
+                if (this.opacity < 1f) {
+                    this.opacity = fadeProgress(startTime, frameTimeNanos, duration);
+                    ToastNotification.this.host.setAlpha(this.opacity);
+                    return true;
                 }
-            }
-        }).start();
 
-        try {
-            fadeInLatch.await();
-        } catch (InterruptedException ignored) {}
+                if (animating) return true;
+                if (ToastNotification.this.advance(ToastState.SHOWN) == null) return false;
+
+                ToastNotification.this.fadeInHandle = null;
+                ToastNotification.this.scheduleAutoClose(ToastNotification.this.displayTime);
+                ToastRecorder.endDisplay(ToastNotification.this.displayEvent, ToastNotification.this.getDescriptor().getTitle(), System.nanoTime() - ToastNotification.this.requestTime);
+                ToastNotification.this.shown.complete(ToastNotification.this);
+                ToastNotification.this.recordHistory(ToastOutcome.SHOWN);
+                return false;
+            }
+        });
     }
 
     /**
      * Fades out the notification, making it invisible.
-     * The notification is disposed of after fading out.
+     * The surface of the notification is released once the fade and the closing animations of the modifiers have finished.
+     * Every pending timer of the notification is cancelled first, so the automatic closing can never fire afterwards.
+     * Must be called on the Event Dispatch Thread; calling it again while the notification is closing has no effect.
      */
     private void fadeOut() {
-        JPanel panel = (JPanel) this.dialog.getContentPane();
-        for (ToastModifier modifier : this.modifiers) modifier.onClose(panel);
+        ToastState previous = this.advance(ToastState.CLOSING);
+        if (previous == null) return;
+
+        this.closeEvent = ToastRecorder.beginClose();
+        this.cancelTimers();
+        this.shown.complete(this);
+
+        if (previous == ToastState.CREATED) {
+            ToastQueue.getInstance().remove(this);
+            if (this.finish()) ToastRecorder.endClose(this.closeEvent, this.getDescriptor().getTitle());
+            return;
+        }
 
-        this.dialog.pack();
+        JPanel panel = this.host.getPanel();
+        for (ToastModifier modifier : this.getDescriptor().getModifiers()) modifier.onClose(panel);
 
-        new Timer(25, new ActionListener() {
-            float opacity = 1f;
+        this.host.pack();
+
+        long startTime = System.nanoTime();
+        float startOpacity = this.host.getAlpha();
+        long duration = this.host.getFadeBackend() == FadeBackend.INSTANT ? 0L : (long) (TimeUnit.MILLISECONDS.toNanos(fadeOutDuration) * startOpacity);
+        CompositeAnimation animation = CompositeAnimation.start(this.getDescriptor().getModifiers(), this.host, AnimationPhase.CLOSE, startTime);
+
+        this.fadeOutHandle = AnimationScheduler.getInstance().animate(new AnimationScheduler.FrameCallback() {
+            float opacity = startOpacity;
 
             @Override
-            public void actionPerformed(ActionEvent e) {
+            public boolean onFrame(long frameTimeNanos) {
+                boolean animating = animation != null && animation.onFrame(frameTimeNanos);
+
                 if (this.opacity > 0f) {
-                    this.opacity -= 0.05f;
-                    this.opacity = Math.max(opacity, 0f);
-                    ToastNotification.this.dialog.setOpacity(opacity);
-                } else {
-                    ToastNotification.this.dialog.dispose();
-                    ((Timer) e.getSource()).stop();
-                    activeNotifications.remove(ToastNotification.this.dialog);
-                    ToastNotification.this.latch.countDown();
+                    this.opacity = startOpacity * (1f - fadeProgress(startTime, frameTimeNanos, duration));
+                    ToastNotification.this.host.setAlpha(this.opacity);
+                    return true;
                 }
+
+                if (animating) return true;
+
+                if (ToastNotification.this.finish()) ToastRecorder.endClose(ToastNotification.this.closeEvent, ToastNotification.this.getDescriptor().getTitle());
+                return false;
             }
-        }).start();
+        });
     }
 
     /**
-     * A custom JPanel that paints a rounded background for the toast notification.
+     * Computes the normalized progress of a fade from the time elapsed since it started.
+     *
+     * @param startTime      The {@link System#nanoTime()} timestamp at which the fade started.
+     * @param frameTimeNanos The timestamp of the current frame.
+     * @param duration       The duration of the fade in nanoseconds.
+     * @return The progress of the fade, between 0 and 1.
      */
-    private static class RoundedPane extends JPanel {
-        private final ToastStyle style;
-
-        /**
-         * Constructs a new RoundedPane with the specified style.
-         *
-         * @param style The style configuration for the pane.
-         */
-        public RoundedPane(ToastStyle style) {
-            this.style = style;
-            this.setOpaque(false);
-            this.setLayout(new BorderLayout());
-        }
+    private static float fadeProgress(long startTime, long frameTimeNanos, long duration) {
+        if (duration <= 0L) return 1f;
+        return Math.max(0f, Math.min(1f, (float) (frameTimeNanos - startTime) / duration));
+    }
 
-        /**
-         * Paints the component with a rounded rectangle background.
-         *
-         * @param g The graphics context to use for painting.
-         */
-        @Override
-        protected void paintComponent(Graphics g) {
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setColor(style.getBackgroundColor());
-            g2.fillRoundRect(0, 0, getWidth() - 1, getHeight() - 1, style.getCornerRadius(), style.getCornerRadius());
-            super.paintComponent(g);
-            g2.dispose();
-        }
+    /**
+     * Runs the specified task on the Event Dispatch Thread, immediately if already on it.
+     *
+     * @param task The task to run.
+     */
+    private static void runOnEventDispatchThread(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) task.run();
+        else SwingUtilities.invokeLater(task);
     }
 }
@@ -0,0 +1,130 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Area;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A transparent always-on-top window covering a screen, into which every overlay notification of that screen is painted.
+ * The shape of the window is restricted to the notifications it shows, so that clicks anywhere else reach the windows below.
+ * Overlays are confined to the Event Dispatch Thread.
+ */
+final class ToastOverlay {
+    private static final Map<GraphicsDevice, ToastOverlay> overlays = new HashMap<>();
+
+    private final JWindow window;
+    private final JPanel layer;
+    private boolean shapeUpdateScheduled;
+
+    /**
+     * Constructs a new ToastOverlay covering the screen of the specified configuration.
+     *
+     * @param config The graphics configuration of the screen.
+     */
+    private ToastOverlay(GraphicsConfiguration config) {
+        this.window = new JWindow(config);
+        this.window.setBackground(new Color(0, 0, 0, 0));
+        this.window.setAlwaysOnTop(true);
+        this.window.setFocusableWindowState(false);
+        this.window.setBounds(config.getBounds());
+
+        this.layer = new JPanel(null);
+        this.layer.setOpaque(false);
+        this.window.setContentPane(this.layer);
+        this.window.getRootPane().setOpaque(false);
+    }
+
+    /**
+     * Returns the overlay of a screen, creating it if needed.
+     *
+     * @param config The graphics configuration of the screen.
+     * @return The overlay covering the screen.
+     */
+    static ToastOverlay forScreen(GraphicsConfiguration config) {
+        return overlays.computeIfAbsent(config.getDevice(), device -> new ToastOverlay(config));
+    }
+
+    /**
+     * Returns whether a screen can display overlay notifications.
+     *
+     * @param device The screen device.
+     * @return True if the screen supports both per-pixel translucency and shaped windows.
+     */
+    static boolean isSupported(GraphicsDevice device) {
+        DisplayCapabilities capabilities = DisplayCapabilities.getInstance();
+        return capabilities.isPerPixelTranslucencySupported(device) && capabilities.isPerPixelTransparencySupported(device);
+    }
+
+    /**
+     * Returns the graphics configuration of the screen covered by the overlay.
+     *
+     * @return The graphics configuration of the overlay window.
+     */
+    GraphicsConfiguration getGraphicsConfiguration() {
+        return this.window.getGraphicsConfiguration();
+    }
+
+    /**
+     * Returns the location of the overlay, in screen coordinates.
+     *
+     * @return The top left corner of the overlay.
+     */
+    Point getOrigin() {
+        return this.window.getLocation();
+    }
+
+    /**
+     * Adds a notification to the overlay and shows the overlay window if needed.
+     *
+     * @param component The component painting the notification.
+     */
+    void add(JComponent component) {
+        if (component.getParent() == this.layer) return;
+
+        this.layer.add(component);
+        this.updateShape();
+
+        if (!this.window.isVisible()) this.window.setVisible(true);
+    }
+
+    /**
+     * Removes a notification from the overlay and hides the overlay window once it is empty.
+     *
+     * @param component The component painting the notification.
+     */
+    void remove(JComponent component) {
+        if (component.getParent() != this.layer) return;
+
+        Rectangle bounds = component.getBounds();
+        this.layer.remove(component);
+        this.layer.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+        this.updateShape();
+
+        if (this.layer.getComponentCount() == 0) this.window.setVisible(false);
+    }
+
+    /**
+     * Requests the shape of the overlay window to be recomputed.
+     * Multiple requests made before the update runs are merged into one.
+     */
+    void updateShape() {
+        if (this.shapeUpdateScheduled) return;
+
+        this.shapeUpdateScheduled = true;
+        SwingUtilities.invokeLater(this::applyShape);
+    }
+
+    /**
+     * Restricts the overlay window to the union of the bounds of the notifications it shows.
+     */
+    private void applyShape() {
+        this.shapeUpdateScheduled = false;
+
+        Area shape = new Area();
+        for (Component component : this.layer.getComponents()) shape.add(new Area(component.getBounds()));
+
+        this.window.setShape(shape);
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * The priority of a toast notification, from the least to the most important.
+ */
+public enum ToastPriority {
+    /**
+     * Informational notifications that can be discarded first.
+     */
+    LOW,
+
+    /**
+     * The default priority of notifications.
+     */
+    NORMAL,
+
+    /**
+     * Notifications that should be shown before normal ones.
+     */
+    HIGH,
+
+    /**
+     * Urgent notifications that should never be discarded in favor of less important ones.
+     */
+    CRITICAL
+}
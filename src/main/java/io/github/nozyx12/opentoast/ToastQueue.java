@@ -0,0 +1,314 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.metrics.ToastRecorder;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded priority queue of notifications waiting for a free place on the screen.
+ * Notifications are shown by priority, then in submission order, as soon as their stack has room for them.
+ * Waiting notifications are kept in one bucket per {@link ToastPriority}, so every operation of the queue
+ * runs in constant time regardless of how many notifications are waiting.
+ * When the queue is full, the configured {@link OverflowPolicy} decides which notification is dropped.
+ * Dropped notifications complete their {@link ToastNotification#whenShown()} future with a {@link ToastStackOverflowException}.
+ */
+public final class ToastQueue {
+    private static final ToastQueue INSTANCE = new ToastQueue(64, OverflowPolicy.DROP_NEWEST);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = this.lock.newCondition();
+    private final List<LinkedHashSet<ToastNotification>> buckets = new ArrayList<>();
+    private final LinkedHashSet<ToastNotification> arrivals = new LinkedHashSet<>();
+    private final AtomicLong dropCount = new AtomicLong();
+    private int capacity;
+    private OverflowPolicy policy;
+    private long blockTimeoutMillis = 1000;
+
+    /**
+     * Constructs a new ToastQueue.
+     *
+     * @param capacity The maximum number of waiting notifications.
+     * @param policy   The policy applied when the queue is full.
+     */
+    public ToastQueue(int capacity, OverflowPolicy policy) {
+        for (int i = 0; i < ToastPriority.values().length; i++) this.buckets.add(new LinkedHashSet<>());
+
+        this.setCapacity(capacity);
+        this.setOverflowPolicy(policy);
+    }
+
+    /**
+     * Returns the queue shared by all toast notifications.
+     *
+     * @return The shared ToastQueue instance.
+     */
+    public static ToastQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the maximum number of waiting notifications.
+     * Lowering the capacity does not drop notifications that are already waiting.
+     *
+     * @param capacity The capacity of the queue.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+
+        this.lock.lock();
+        try {
+            this.capacity = capacity;
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum number of waiting notifications.
+     *
+     * @return The capacity of the queue.
+     */
+    public int getCapacity() {
+        this.lock.lock();
+        try {
+            return this.capacity;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the policy applied when a notification is submitted while the queue is full.
+     *
+     * @param policy The overflow policy.
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        if (policy == null) throw new IllegalArgumentException("Overflow policy must not be null");
+
+        this.lock.lock();
+        try {
+            this.policy = policy;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the policy applied when a notification is submitted while the queue is full.
+     *
+     * @return The overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        this.lock.lock();
+        try {
+            return this.policy;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Sets how long a submitting thread may wait for room when the policy is {@link OverflowPolicy#BLOCK}.
+     *
+     * @param blockTimeoutMillis The maximum waiting time in milliseconds.
+     */
+    public void setBlockTimeout(long blockTimeoutMillis) {
+        this.lock.lock();
+        try {
+            this.blockTimeoutMillis = blockTimeoutMillis;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long a submitting thread may wait for room when the policy is {@link OverflowPolicy#BLOCK}.
+     *
+     * @return The maximum waiting time in milliseconds.
+     */
+    public long getBlockTimeout() {
+        this.lock.lock();
+        try {
+            return this.blockTimeoutMillis;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of notifications waiting to be shown.
+     *
+     * @return The depth of the queue.
+     */
+    public int getDepth() {
+        this.lock.lock();
+        try {
+            return this.arrivals.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of notifications dropped since the queue was created.
+     *
+     * @return The number of dropped notifications.
+     */
+    public long getDropCount() {
+        return this.dropCount.get();
+    }
+
+    /**
+     * Adds a notification to the queue, applying the overflow policy if the queue is full.
+     *
+     * @param toast The notification to add.
+     * @return True if the notification was queued, false if it was dropped.
+     */
+    boolean submit(ToastNotification toast) {
+        ToastNotification dropped = null;
+        boolean queued = true;
+
+        this.lock.lock();
+        try {
+            if (this.arrivals.size() >= this.capacity) {
+                switch (this.policy) {
+                    case DROP_OLDEST:
+                        dropped = this.arrivals.isEmpty() ? null : this.arrivals.iterator().next();
+                        if (dropped != null) this.unlink(dropped);
+                        break;
+                    case REPLACE_LOWEST_PRIORITY:
+                        ToastNotification lowest = this.findLowestPriority();
+                        if (lowest != null && lowest.getPriority().compareTo(toast.getPriority()) < 0) {
+                            this.unlink(lowest);
+                            dropped = lowest;
+                        }
+                        break;
+                    case BLOCK:
+                        this.awaitNotFull();
+                        break;
+                    default:
+                        break;
+                }
+
+                queued = this.arrivals.size() < this.capacity;
+            }
+
+            if (queued) {
+                this.arrivals.add(toast);
+                this.buckets.get(toast.getPriority().ordinal()).add(toast);
+            }
+
+            ToastRecorder.pendingChanged(this.arrivals.size());
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (dropped != null) this.drop(dropped);
+        if (!queued) this.drop(toast);
+
+        return queued;
+    }
+
+    /**
+     * Returns every waiting notification without removing them.
+     *
+     * @return The waiting notifications, highest priority first and then in submission order.
+     */
+    List<ToastNotification> snapshot() {
+        this.lock.lock();
+        try {
+            List<ToastNotification> waiting = new ArrayList<>(this.arrivals.size());
+            for (int i = this.buckets.size() - 1; i >= 0; i--) waiting.addAll(this.buckets.get(i));
+
+            return waiting;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a notification from the queue.
+     *
+     * @param toast The notification to remove.
+     * @return True if the notification was waiting in the queue, false if it was already removed or dropped.
+     */
+    boolean remove(ToastNotification toast) {
+        this.lock.lock();
+        try {
+            boolean removed = this.unlink(toast);
+
+            if (removed) {
+                this.notFull.signal();
+                ToastRecorder.pendingChanged(this.arrivals.size());
+            }
+
+            return removed;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the queue has room or the block timeout expires. Never waits on the Event Dispatch Thread,
+     * since that thread is the one making room. Must be called while holding the lock.
+     */
+    private void awaitNotFull() {
+        if (SwingUtilities.isEventDispatchThread()) return;
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(this.blockTimeoutMillis);
+
+        try {
+            while (this.arrivals.size() >= this.capacity && remaining > 0L) remaining = this.notFull.awaitNanos(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finds the waiting notification with the lowest priority, the oldest one being chosen among equals.
+     * Must be called while holding the lock.
+     *
+     * @return The least important waiting notification, or null if the queue is empty.
+     */
+    private ToastNotification findLowestPriority() {
+        for (LinkedHashSet<ToastNotification> bucket : this.buckets) {
+            Iterator<ToastNotification> iterator = bucket.iterator();
+            if (iterator.hasNext()) return iterator.next();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes a notification from its priority bucket and from the arrival order.
+     * Must be called while holding the lock.
+     *
+     * @param toast The notification to remove.
+     * @return True if the notification was waiting in the queue.
+     */
+    private boolean unlink(ToastNotification toast) {
+        if (!this.arrivals.remove(toast)) return false;
+
+        this.buckets.get(toast.getPriority().ordinal()).remove(toast);
+        return true;
+    }
+
+    /**
+     * Drops a notification and counts it.
+     *
+     * @param toast The dropped notification.
+     */
+    private void drop(ToastNotification toast) {
+        this.dropCount.incrementAndGet();
+        toast.drop();
+    }
+}
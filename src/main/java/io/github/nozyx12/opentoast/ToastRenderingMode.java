@@ -0,0 +1,18 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * Defines how toast notifications are put on the screen.
+ */
+public enum ToastRenderingMode {
+    /**
+     * Each notification is its own always-on-top window, recycled through the {@link ToastWindowPool}.
+     * Windows fade with the {@link FadeBackend} of their screen: the window opacity, per-pixel alpha, or not at all.
+     */
+    WINDOW,
+
+    /**
+     * Every notification of a screen is painted into one shared transparent overlay window,
+     * faded with an {@link java.awt.AlphaComposite}. Requires per-pixel translucency and shaped windows.
+     */
+    OVERLAY
+}
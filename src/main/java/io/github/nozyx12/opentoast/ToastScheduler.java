@@ -0,0 +1,166 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.layout.ToastStackLayout;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns the limited visible slots of each stack to notifications.
+ * Waiting notifications are taken from the {@link ToastQueue} by priority, then by age.
+ * When a {@link ToastPriority#HIGH} or {@link ToastPriority#CRITICAL} notification does not fit in its stack,
+ * the scheduler makes room by preempting the least important, oldest visible notification of lower priority:
+ * a critical notification closes it immediately, while a high priority one shortens its remaining display time.
+ */
+public final class ToastScheduler {
+    private static final ToastScheduler INSTANCE = new ToastScheduler();
+
+    private final ConcurrentMap<String, ToastStackLayout> stacks = new ConcurrentHashMap<>();
+    private final Map<ToastStackLayout, List<ToastNotification>> occupants = new HashMap<>();
+    private final AtomicLong preemptedCount = new AtomicLong();
+    private volatile boolean preemption = true;
+    private volatile int shortenedDisplayTime = 1000;
+
+    /**
+     * Constructs a new ToastScheduler.
+     */
+    private ToastScheduler() {}
+
+    /**
+     * Returns the scheduler shared by all toast notifications.
+     *
+     * @return The shared ToastScheduler instance.
+     */
+    public static ToastScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets whether important notifications may preempt less important visible ones. Enabled by default.
+     *
+     * @param preemption True to let high priority and critical notifications make room for themselves.
+     */
+    public void setPreemption(boolean preemption) {
+        this.preemption = preemption;
+    }
+
+    /**
+     * Returns whether important notifications may preempt less important visible ones.
+     *
+     * @return True if preemption is enabled.
+     */
+    public boolean isPreemption() {
+        return this.preemption;
+    }
+
+    /**
+     * Sets how long a notification preempted by a high priority one stays on the screen at most.
+     *
+     * @param shortenedDisplayTime The remaining display time in milliseconds.
+     */
+    public void setShortenedDisplayTime(int shortenedDisplayTime) {
+        if (shortenedDisplayTime < 0) throw new IllegalArgumentException("Display time must not be negative");
+        this.shortenedDisplayTime = shortenedDisplayTime;
+    }
+
+    /**
+     * Returns how long a notification preempted by a high priority one stays on the screen at most.
+     *
+     * @return The remaining display time in milliseconds.
+     */
+    public int getShortenedDisplayTime() {
+        return this.shortenedDisplayTime;
+    }
+
+    /**
+     * Returns how many visible notifications were closed or shortened to make room for more important ones.
+     *
+     * @return The number of preempted notifications.
+     */
+    public long getPreemptedCount() {
+        return this.preemptedCount.get();
+    }
+
+    /**
+     * Returns the number of notifications currently stacked on all screens.
+     *
+     * @return The number of active notifications.
+     */
+    public int getActiveCount() {
+        int count = 0;
+        for (ToastStackLayout stack : this.stacks.values()) count += stack.getSlotCount();
+
+        return count;
+    }
+
+    /**
+     * Returns the stack of a corner of a screen, creating it on first use.
+     *
+     * @param config The graphics configuration of the screen.
+     * @param corner The corner of the screen.
+     * @param margin The space left between two stacked notifications.
+     * @return The stack of the corner.
+     */
+    ToastStackLayout getStack(GraphicsConfiguration config, ToastCorner corner, int margin) {
+        return this.stacks.computeIfAbsent(config.getDevice().getIDstring() + '/' + corner, key -> new ToastStackLayout(margin));
+    }
+
+    /**
+     * Records that a notification took a slot of a stack. Must be called on the Event Dispatch Thread.
+     *
+     * @param stack The stack of the notification.
+     * @param toast The notification.
+     */
+    void occupy(ToastStackLayout stack, ToastNotification toast) {
+        this.occupants.computeIfAbsent(stack, key -> new ArrayList<>()).add(toast);
+    }
+
+    /**
+     * Records that a notification released its slot. Must be called on the Event Dispatch Thread.
+     *
+     * @param stack The stack of the notification.
+     * @param toast The notification.
+     */
+    void vacate(ToastStackLayout stack, ToastNotification toast) {
+        List<ToastNotification> list = this.occupants.get(stack);
+        if (list != null) list.remove(toast);
+    }
+
+    /**
+     * Makes room for a notification that does not fit in its stack, if its priority allows it.
+     * Must be called on the Event Dispatch Thread.
+     *
+     * @param waiting The notification waiting for room.
+     * @param stack   The stack the notification is waiting for.
+     * @return True if room is being made, in which case the notification should keep waiting for it.
+     */
+    boolean preempt(ToastNotification waiting, ToastStackLayout stack) {
+        ToastPriority priority = waiting.getPriority();
+        if (!this.preemption || priority.compareTo(ToastPriority.HIGH) < 0) return false;
+
+        List<ToastNotification> list = this.occupants.get(stack);
+        if (list == null) return false;
+
+        ToastNotification victim = null;
+
+        for (ToastNotification toast : list) {
+            if (toast.getPriority().compareTo(priority) >= 0) continue;
+            if (toast.getState() == ToastState.CLOSING || (toast.isPreempted() && priority != ToastPriority.CRITICAL)) return true;
+            if (victim == null || toast.getPriority().compareTo(victim.getPriority()) < 0) victim = toast;
+        }
+
+        if (victim == null) return false;
+
+        this.preemptedCount.incrementAndGet();
+        if (priority == ToastPriority.CRITICAL) victim.close();
+        else victim.shorten(this.shortenedDisplayTime);
+
+        return true;
+    }
+}
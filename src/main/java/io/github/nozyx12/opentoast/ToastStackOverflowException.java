@@ -2,8 +2,8 @@ package io.github.nozyx12.opentoast;
 
 /**
  * Exception thrown when there is an overflow of toast notifications.
- * This occurs when there is not enough space on the screen to display
- * additional notifications without overlapping existing ones.
+ * This occurs when a notification is dropped by the {@link ToastQueue} because neither the screen
+ * nor the pending queue have room for it, according to the configured {@link OverflowPolicy}.
  */
 public class ToastStackOverflowException extends RuntimeException {
 
@@ -0,0 +1,31 @@
+package io.github.nozyx12.opentoast;
+
+/**
+ * The lifecycle of a toast notification. A notification only ever moves forward through these states.
+ */
+public enum ToastState {
+    /**
+     * The notification was created, and possibly submitted to the {@link ToastQueue}, but is not on the screen yet.
+     */
+    CREATED,
+
+    /**
+     * The notification is on the screen and fading in.
+     */
+    SHOWING,
+
+    /**
+     * The notification is fully shown and waiting to be closed automatically.
+     */
+    SHOWN,
+
+    /**
+     * The notification is fading out.
+     */
+    CLOSING,
+
+    /**
+     * The notification was closed or dropped and released its surface.
+     */
+    CLOSED
+}
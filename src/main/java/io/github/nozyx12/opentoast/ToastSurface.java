@@ -0,0 +1,76 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The on-screen surface of a toast notification.
+ * Depending on the {@link ToastRenderingMode}, a surface is either its own window or a region of a shared overlay window.
+ * Modifiers should move and fade notifications through this interface rather than through the window ancestor of their panel.
+ */
+public interface ToastSurface {
+    /**
+     * The client property under which the content pane of a notification references its surface.
+     */
+    String CLIENT_PROPERTY = "opentoast.surface";
+
+    /**
+     * Returns the surface displaying the specified component.
+     *
+     * @param component The content pane of a notification, or one of its descendants.
+     * @return The surface displaying the component, or null if the component is not part of a notification.
+     */
+    static ToastSurface of(Component component) {
+        for (Component c = component; c != null; c = c.getParent()) {
+            if (!(c instanceof JComponent)) continue;
+
+            Object surface = ((JComponent) c).getClientProperty(CLIENT_PROPERTY);
+            if (surface instanceof ToastSurface) return (ToastSurface) surface;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the content pane of the notification.
+     *
+     * @return The JPanel holding the content of the notification.
+     */
+    JPanel getPanel();
+
+    /**
+     * Returns the graphics configuration of the screen the surface is displayed on.
+     *
+     * @return The graphics configuration of the surface.
+     */
+    GraphicsConfiguration getGraphicsConfiguration();
+
+    /**
+     * Returns the bounds of the surface, in screen coordinates.
+     *
+     * @return The bounds of the surface.
+     */
+    Rectangle getBounds();
+
+    /**
+     * Moves the surface, in screen coordinates.
+     *
+     * @param x The new x coordinate of the surface.
+     * @param y The new y coordinate of the surface.
+     */
+    void setLocation(int x, int y);
+
+    /**
+     * Returns the opacity of the surface.
+     *
+     * @return The opacity, between 0 and 1.
+     */
+    float getAlpha();
+
+    /**
+     * Sets the opacity of the surface.
+     *
+     * @param alpha The opacity, between 0 and 1.
+     */
+    void setAlpha(float alpha);
+}
@@ -0,0 +1,128 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A reusable toast window and its component tree.
+ * The window is realized once, then re-skinned with a new title, message, icon and style every time it is reused,
+ * so that showing a toast does not have to create and destroy a native window.
+ * The window fades with the cheapest backend its screen supports, as reported by {@link DisplayCapabilities}.
+ * The backend is resolved again every time the window is skinned, so a recycled window follows the preferred backend.
+ */
+final class ToastWindow extends ToastHost {
+    private final JDialog dialog;
+    private final GraphicsDevice device;
+    private FadeBackend fadeBackend;
+    private float alpha = 1f;
+
+    /**
+     * Constructs a new ToastWindow on the default screen and realizes its native peer.
+     */
+    ToastWindow() {
+        this(ScreenGeometry.getConfiguration(null));
+    }
+
+    /**
+     * Constructs a new ToastWindow on a screen and realizes its native peer.
+     * The fade backend is chosen for that screen, and the background of the window is only made transparent
+     * if the screen supports per-pixel translucency, so the window must only be shown on that screen.
+     *
+     * @param config The graphics configuration of the screen the window is shown on.
+     */
+    ToastWindow(GraphicsConfiguration config) {
+        this.dialog = new JDialog((Frame) null, null, false, config);
+        this.dialog.setUndecorated(true);
+
+        DisplayCapabilities capabilities = DisplayCapabilities.getInstance();
+        GraphicsDevice device = config.getDevice();
+        this.device = device;
+        this.fadeBackend = capabilities.getFadeBackend(device);
+
+        if (capabilities.isPerPixelTranslucencySupported(device)) this.dialog.setBackground(new Color(0, 0, 0, 0));
+        this.dialog.setAlwaysOnTop(true);
+        this.dialog.setContentPane(this.getPanel());
+        this.dialog.pack();
+    }
+
+    @Override
+    void skin(String title, String message, Icon icon, ToastStyle style, Runnable closeAction) {
+        FadeBackend backend = DisplayCapabilities.getInstance().getFadeBackend(this.device);
+
+        if (backend != this.fadeBackend) {
+            // Leave the window fully opaque for the previous backend before fading with the new one.
+            this.setAlpha(1f);
+            this.fadeBackend = backend;
+        }
+
+        super.skin(title, message, icon, style, closeAction);
+    }
+
+    @Override
+    public GraphicsConfiguration getGraphicsConfiguration() {
+        return this.dialog.getGraphicsConfiguration();
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return this.dialog.getBounds();
+    }
+
+    @Override
+    public void setLocation(int x, int y) {
+        this.dialog.setLocation(x, y);
+    }
+
+    @Override
+    public float getAlpha() {
+        return this.alpha;
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+        if (this.alpha == alpha) return;
+        this.alpha = alpha;
+
+        switch (this.fadeBackend) {
+            case WINDOW_OPACITY:
+                this.dialog.setOpacity(alpha);
+                break;
+            case PER_PIXEL_ALPHA:
+                this.content.setAlpha(alpha);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the screen the window was created for.
+     *
+     * @return The screen of the window.
+     */
+    GraphicsDevice getDevice() {
+        return this.device;
+    }
+
+    @Override
+    FadeBackend getFadeBackend() {
+        return this.fadeBackend;
+    }
+
+    @Override
+    void setVisible(boolean visible) {
+        this.dialog.setVisible(visible);
+    }
+
+    @Override
+    void pack() {
+        this.dialog.pack();
+    }
+
+    @Override
+    void dispose() {
+        this.dialog.dispose();
+    }
+}
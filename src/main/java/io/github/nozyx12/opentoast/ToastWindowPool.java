@@ -0,0 +1,251 @@
+package io.github.nozyx12.opentoast;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of pre-realized toast windows.
+ * Windows are re-skinned for every new notification and recycled when the notification closes,
+ * which avoids creating and destroying a native window for each toast.
+ * Idle windows are kept per screen, since each window fades with the backend supported by the screen it was created on.
+ */
+public final class ToastWindowPool {
+    private static final ToastWindowPool INSTANCE = new ToastWindowPool(8);
+
+    private final Map<GraphicsDevice, Deque<ToastWindow>> idle = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicInteger leased = new AtomicInteger();
+    private int idleCount;
+    private int capacity;
+
+    /**
+     * Constructs a new ToastWindowPool keeping at most the specified number of idle windows.
+     *
+     * @param capacity The maximum number of idle windows kept for reuse, across all screens.
+     */
+    public ToastWindowPool(int capacity) {
+        this.setCapacity(capacity);
+    }
+
+    /**
+     * Returns the pool shared by all toast notifications.
+     *
+     * @return The shared ToastWindowPool instance.
+     */
+    public static ToastWindowPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Pre-creates windows on the default screen so that the first notifications do not pay for their creation.
+     * The windows are created on the Event Dispatch Thread; this method waits for them to be ready.
+     *
+     * @param count The number of windows to create, bounded by the capacity of the pool.
+     * @throws HeadlessException If the environment has no display.
+     */
+    public void warmUp(int count) {
+        Runnable warmUp = () -> {
+            GraphicsConfiguration config = ScreenGeometry.getConfiguration(null);
+            while (this.getIdleCount() < Math.min(count, this.getCapacity())) this.offer(new ToastWindow(config));
+        };
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            warmUp.run();
+            return;
+        }
+
+        try {
+            SwingUtilities.invokeAndWait(warmUp);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Disposes every idle window held by the pool. The windows are disposed on the Event Dispatch Thread.
+     */
+    public void clear() {
+        List<ToastWindow> evicted = new ArrayList<>();
+
+        synchronized (this.idle) {
+            for (Deque<ToastWindow> windows : this.idle.values()) evicted.addAll(windows);
+
+            this.idle.clear();
+            this.idleCount = 0;
+        }
+
+        dispose(evicted);
+    }
+
+    /**
+     * Sets the maximum number of idle windows kept for reuse.
+     * Extra idle windows are disposed on the Event Dispatch Thread.
+     *
+     * @param capacity The capacity of the pool, across all screens.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+
+        List<ToastWindow> evicted = new ArrayList<>();
+
+        synchronized (this.idle) {
+            this.capacity = capacity;
+
+            for (Deque<ToastWindow> windows : this.idle.values()) {
+                while (this.idleCount > capacity && !windows.isEmpty()) {
+                    evicted.add(windows.pollLast());
+                    this.idleCount--;
+                }
+            }
+        }
+
+        dispose(evicted);
+    }
+
+    /**
+     * Returns the maximum number of idle windows kept for reuse.
+     *
+     * @return The capacity of the pool.
+     */
+    public int getCapacity() {
+        synchronized (this.idle) {
+            return this.capacity;
+        }
+    }
+
+    /**
+     * Returns the number of idle windows ready for reuse.
+     *
+     * @return The number of idle windows, across all screens.
+     */
+    public int getIdleCount() {
+        synchronized (this.idle) {
+            return this.idleCount;
+        }
+    }
+
+    /**
+     * Returns how many notifications reused a pooled window.
+     *
+     * @return The number of pool hits.
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns how many notifications had to create a new window because the pool was empty.
+     *
+     * @return The number of pool misses.
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * Returns the number of windows currently held by notifications.
+     *
+     * @return The number of acquired windows not released yet.
+     */
+    int getLeasedCount() {
+        return this.leased.get();
+    }
+
+    /**
+     * Takes an idle window of a screen from the pool, or creates a new one if the pool has none for this screen.
+     *
+     * @param config The graphics configuration of the screen the window is shown on.
+     * @return A window ready to be skinned.
+     */
+    ToastWindow acquire(GraphicsConfiguration config) {
+        ToastWindow window = null;
+
+        synchronized (this.idle) {
+            Deque<ToastWindow> windows = this.idle.get(config.getDevice());
+
+            if (windows != null && !windows.isEmpty()) {
+                window = windows.pollFirst();
+                this.idleCount--;
+            }
+        }
+
+        if (window != null) {
+            this.hits.incrementAndGet();
+        } else {
+            this.misses.incrementAndGet();
+            window = new ToastWindow(config);
+        }
+
+        this.leased.incrementAndGet();
+        return window;
+    }
+
+    /**
+     * Returns a window to the pool once its notification is closed.
+     * The window is disposed instead if the pool is full.
+     *
+     * @param window The window to recycle.
+     */
+    void release(ToastWindow window) {
+        this.leased.decrementAndGet();
+        window.reset();
+        if (!this.offer(window)) window.dispose();
+    }
+
+    /**
+     * Disposes a window that cannot be reused, for example because its notification failed to skin it.
+     *
+     * @param window The acquired window to dispose.
+     */
+    void discard(ToastWindow window) {
+        this.leased.decrementAndGet();
+        window.dispose();
+    }
+
+    /**
+     * Disposes windows removed from the pool on the Event Dispatch Thread, immediately if already on it.
+     *
+     * @param windows The windows to dispose.
+     */
+    private static void dispose(List<ToastWindow> windows) {
+        if (windows.isEmpty()) return;
+
+        Runnable dispose = () -> {
+            for (ToastWindow window : windows) window.dispose();
+        };
+
+        if (SwingUtilities.isEventDispatchThread()) dispose.run();
+        else SwingUtilities.invokeLater(dispose);
+    }
+
+    /**
+     * Adds a window to the idle windows of its screen if the pool is not full.
+     *
+     * @param window The window to add.
+     * @return True if the window was added, false if the pool is full.
+     */
+    private boolean offer(ToastWindow window) {
+        synchronized (this.idle) {
+            if (this.idleCount >= this.capacity) return false;
+
+            this.idle.computeIfAbsent(window.getDevice(), device -> new ArrayDeque<>()).addFirst(window);
+            this.idleCount++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.nozyx12.opentoast;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread-safe token bucket used to rate limit notifications.
+ * The bucket holds up to a fixed number of tokens and is refilled continuously at a fixed rate.
+ */
+public class TokenBucket {
+    private final int capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructs a new full TokenBucket.
+     *
+     * @param permitsPerSecond The number of tokens added to the bucket every second.
+     * @param burst            The maximum number of tokens the bucket can hold.
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("Rate must be positive");
+        if (burst <= 0) throw new IllegalArgumentException("Burst must be positive");
+
+        this.capacity = burst;
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one token from the bucket if one is available.
+     *
+     * @return True if a token was taken, false if the bucket is empty.
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.tokensPerNano);
+        this.lastRefill = now;
+
+        if (this.tokens < 1d) return false;
+
+        this.tokens -= 1d;
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.render.TextLayoutCache;
+import io.github.nozyx12.opentoast.render.WrappedText;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A lightweight label displaying plain text on several lines, wrapped to a maximum width.
+ * The text is measured through the shared {@link TextLayoutCache}, so sizing the label does not build any text view.
+ */
+final class WrappedLabel extends JComponent {
+    private String text = "";
+    private int maxWidth;
+    private WrappedText wrapped;
+
+    /**
+     * Constructs a new WrappedLabel.
+     */
+    WrappedLabel() {
+        this.setOpaque(false);
+    }
+
+    /**
+     * Sets the text of the label.
+     *
+     * @param text The text to display. Line feeds always start a new line.
+     */
+    void setText(String text) {
+        String value = text != null ? text : "";
+        if (value.equals(this.text)) return;
+
+        this.text = value;
+        this.textChanged();
+    }
+
+    /**
+     * Sets the maximum width of the text, excluding the border of the label.
+     *
+     * @param maxWidth The maximum width in pixels, or 0 to only break lines at line feeds.
+     */
+    void setMaxWidth(int maxWidth) {
+        if (maxWidth == this.maxWidth) return;
+
+        this.maxWidth = maxWidth;
+        this.textChanged();
+    }
+
+    /**
+     * Sets the font of the label, which discards the measured text.
+     *
+     * @param font The font of the text.
+     */
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        this.wrapped = null;
+    }
+
+    /**
+     * Returns the size of the wrapped text plus the border of the label.
+     *
+     * @return The preferred size of the label.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (this.isPreferredSizeSet()) return super.getPreferredSize();
+
+        WrappedText text = this.getWrappedText();
+        Insets insets = this.getInsets();
+
+        return new Dimension(text.getWidth() + insets.left + insets.right, text.getHeight() + insets.top + insets.bottom);
+    }
+
+    /**
+     * Draws the wrapped text with the foreground color of the label.
+     *
+     * @param g The graphics context to use for painting.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (this.text.isEmpty()) return;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        TextLayoutCache.applyRenderingHints(g2);
+        g2.setColor(this.getForeground());
+
+        Insets insets = this.getInsets();
+        this.getWrappedText().draw(g2, insets.left, insets.top);
+        g2.dispose();
+    }
+
+    /**
+     * Returns the measured text, looking it up in the cache if the text, font or width changed.
+     *
+     * @return The wrapped text.
+     */
+    private WrappedText getWrappedText() {
+        if (this.wrapped == null) {
+            Font font = this.getFont() != null ? this.getFont() : UIManager.getFont("Label.font");
+            this.wrapped = TextLayoutCache.getInstance().wrap(font, this.text, this.maxWidth);
+        }
+
+        return this.wrapped;
+    }
+
+    /**
+     * Discards the measured text and schedules a new layout and paint.
+     */
+    private void textChanged() {
+        this.wrapped = null;
+        this.revalidate();
+        this.repaint();
+    }
+}
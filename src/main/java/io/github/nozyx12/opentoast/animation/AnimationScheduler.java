@@ -0,0 +1,393 @@
+package io.github.nozyx12.opentoast.animation;
+
+import io.github.nozyx12.opentoast.metrics.ToastRecorder;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A shared frame clock driving every toast animation.
+ * All registered animations are ticked from a single Swing Timer callback on the Event Dispatch Thread,
+ * so the number of events posted per frame stays constant regardless of how many toasts are animating.
+ * When nothing is animating the clock only wakes up for pending delayed tasks, and stops completely once there are none.
+ * When frames are consistently late because the Event Dispatch Thread is busy, the clock lowers its frame rate,
+ * and restores it once frames are on time again. Animations should therefore compute their state from the frame time.
+ */
+public final class AnimationScheduler {
+    private static final AnimationScheduler INSTANCE = new AnimationScheduler(60);
+    private static final int ADAPT_FRAMES = 30;
+    private static final int MIN_FRAME_RATE = 15;
+
+    private final Object lock = new Object();
+    private final List<Handle> animations = new ArrayList<>();
+    private final List<Handle> frame = new ArrayList<>();
+    private final PriorityQueue<Handle> tasks = new PriorityQueue<>((a, b) -> Long.compare(a.deadline, b.deadline));
+    private final Timer timer;
+    private int frameRate;
+    private int frameDelay;
+    private int currentDelay;
+    private boolean adaptive = true;
+    private int lateFrames;
+    private int onTimeFrames;
+    private boolean framing;
+    private long lastFrameTime;
+
+    /**
+     * Constructs a new AnimationScheduler ticking at the specified frame rate.
+     *
+     * @param frameRate The target number of frames per second.
+     */
+    public AnimationScheduler(int frameRate) {
+        this.frameDelay = toFrameDelay(frameRate);
+        this.frameRate = frameRate;
+        this.currentDelay = this.frameDelay;
+        this.timer = new Timer(this.frameDelay, e -> this.tick());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Returns the scheduler shared by all toast notifications.
+     *
+     * @return The shared AnimationScheduler instance.
+     */
+    public static AnimationScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers an animation that will be called once per frame on the Event Dispatch Thread
+     * until it returns false or its handle is cancelled.
+     *
+     * @param callback The callback to invoke on every frame.
+     * @return A handle that can be used to cancel the animation.
+     */
+    public Handle animate(FrameCallback callback) {
+        Handle handle = new Handle(callback, null, 0L);
+
+        synchronized (this.lock) {
+            this.animations.add(handle);
+            this.reschedule();
+        }
+
+        return handle;
+    }
+
+    /**
+     * Schedules a task to run once on the Event Dispatch Thread after the specified delay.
+     * Delayed tasks share the frame clock and do not keep it ticking while they are waiting.
+     *
+     * @param task        The task to run.
+     * @param delayMillis The delay in milliseconds before running the task.
+     * @return A handle that can be used to cancel the task.
+     */
+    public Handle schedule(Runnable task, int delayMillis) {
+        Handle handle = new Handle(null, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+
+        synchronized (this.lock) {
+            this.tasks.add(handle);
+            this.reschedule();
+        }
+
+        return handle;
+    }
+
+    /**
+     * Sets the target frame rate of the clock.
+     *
+     * @param frameRate The target number of frames per second.
+     */
+    public void setFrameRate(int frameRate) {
+        synchronized (this.lock) {
+            this.frameDelay = toFrameDelay(frameRate);
+            this.frameRate = frameRate;
+            this.setCurrentDelay(this.frameDelay);
+        }
+    }
+
+    /**
+     * Returns the target frame rate of the clock.
+     *
+     * @return The target number of frames per second.
+     */
+    public int getFrameRate() {
+        synchronized (this.lock) {
+            return this.frameRate;
+        }
+    }
+
+    /**
+     * Returns the frame rate the clock is actually ticking at, which is lower than the target while frames are late.
+     *
+     * @return The current number of frames per second.
+     */
+    public int getCurrentFrameRate() {
+        synchronized (this.lock) {
+            return this.currentDelay == this.frameDelay ? this.frameRate : 1000 / this.currentDelay;
+        }
+    }
+
+    /**
+     * Sets whether the clock lowers its frame rate when frames are consistently late. Enabled by default.
+     *
+     * @param adaptive True to adapt the frame rate to the load of the Event Dispatch Thread, false to always tick at the target rate.
+     */
+    public void setAdaptiveFrameRate(boolean adaptive) {
+        synchronized (this.lock) {
+            this.adaptive = adaptive;
+            if (!adaptive) this.setCurrentDelay(this.frameDelay);
+        }
+    }
+
+    /**
+     * Returns whether the clock lowers its frame rate when frames are consistently late.
+     *
+     * @return True if the frame rate is adaptive.
+     */
+    public boolean isAdaptiveFrameRate() {
+        synchronized (this.lock) {
+            return this.adaptive;
+        }
+    }
+
+    /**
+     * Returns the number of animations currently registered.
+     *
+     * @return The number of active animations.
+     */
+    public int getActiveAnimationCount() {
+        synchronized (this.lock) {
+            return this.animations.size();
+        }
+    }
+
+    /**
+     * Returns the number of delayed tasks waiting to run.
+     *
+     * @return The number of pending tasks.
+     */
+    public int getPendingTaskCount() {
+        synchronized (this.lock) {
+            return this.tasks.size();
+        }
+    }
+
+    /**
+     * Returns whether the underlying timer is currently running.
+     *
+     * @return True if the clock is ticking or waiting for a delayed task, false if it is fully stopped.
+     */
+    public boolean isRunning() {
+        return this.timer.isRunning();
+    }
+
+    /**
+     * Runs one frame: executes every due task, then ticks every registered animation.
+     * A task or animation that throws is cancelled without affecting the others.
+     * Frames ticking animations are reported to the {@link ToastRecorder}, along with how late they started.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        long lateness = 0L;
+        List<Handle> due = null;
+
+        synchronized (this.lock) {
+            while (!this.tasks.isEmpty() && this.tasks.peek().deadline - now <= 0) {
+                if (due == null) due = new ArrayList<>();
+                due.add(this.tasks.poll());
+            }
+
+            this.frame.addAll(this.animations);
+
+            if (this.lastFrameTime != 0L) {
+                lateness = Math.max(0L, now - this.lastFrameTime - TimeUnit.MILLISECONDS.toNanos(this.currentDelay));
+                this.adapt(lateness);
+            }
+
+            this.lastFrameTime = this.frame.isEmpty() ? 0L : now;
+        }
+
+        try {
+            Object frameEvent = this.frame.isEmpty() ? null : ToastRecorder.beginFrame();
+
+            if (due != null) {
+                for (Handle handle : due) {
+                    if (handle.cancelled) continue;
+
+                    handle.cancelled = true;
+
+                    try {
+                        handle.task.run();
+                    } catch (RuntimeException | LinkageError | AssertionError e) {
+                        report(e);
+                    }
+                }
+            }
+
+            for (Handle handle : this.frame) {
+                if (handle.cancelled) continue;
+
+                try {
+                    if (!handle.callback.onFrame(now)) handle.cancelled = true;
+                } catch (RuntimeException | LinkageError | AssertionError e) {
+                    handle.cancelled = true;
+                    report(e);
+                }
+            }
+
+            if (!this.frame.isEmpty()) ToastRecorder.endFrame(frameEvent, now, lateness, this.frame.size());
+        } finally {
+            this.frame.clear();
+
+            synchronized (this.lock) {
+                this.animations.removeIf(handle -> handle.cancelled);
+                this.reschedule();
+            }
+        }
+    }
+
+    /**
+     * Reports an exception thrown by a task or a frame callback to the uncaught exception handler of the current thread.
+     * The failing task or animation is cancelled, while the other ones sharing the clock keep running.
+     *
+     * @param e The thrown exception.
+     */
+    private static void report(Throwable e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    /**
+     * Switches the timer between frame mode, delayed-task mode and stopped, depending on the registered work.
+     * Must be called while holding the lock.
+     */
+    private void reschedule() {
+        if (!this.animations.isEmpty()) {
+            if (!this.framing || !this.timer.isRunning()) {
+                this.framing = true;
+                this.lastFrameTime = 0L;
+                this.timer.setRepeats(true);
+                this.timer.setInitialDelay(this.currentDelay);
+                this.timer.setDelay(this.currentDelay);
+                this.timer.restart();
+            }
+
+            return;
+        }
+
+        this.framing = false;
+        this.lastFrameTime = 0L;
+        Handle next = this.tasks.peek();
+
+        if (next == null) {
+            this.timer.stop();
+            return;
+        }
+
+        long delay = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(next.deadline - System.nanoTime()));
+        this.timer.setRepeats(false);
+        this.timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, delay));
+        this.timer.restart();
+    }
+
+    /**
+     * Lowers the frame rate after {@value #ADAPT_FRAMES} consecutive late frames, and raises it back towards the target
+     * after twice as many frames on time. A frame is late when it starts more than half a frame after its due time.
+     * Must be called while holding the lock.
+     *
+     * @param lateness How late the current frame started, in nanoseconds.
+     */
+    private void adapt(long lateness) {
+        if (!this.adaptive) return;
+
+        if (lateness > TimeUnit.MILLISECONDS.toNanos(this.currentDelay) / 2) {
+            this.onTimeFrames = 0;
+            if (++this.lateFrames < ADAPT_FRAMES) return;
+
+            this.setCurrentDelay(Math.min(1000 / MIN_FRAME_RATE, this.currentDelay + this.currentDelay / 2));
+        } else {
+            this.lateFrames = 0;
+            if (++this.onTimeFrames < ADAPT_FRAMES * 2 || this.currentDelay == this.frameDelay) return;
+
+            this.setCurrentDelay(Math.max(this.frameDelay, this.currentDelay * 2 / 3));
+        }
+    }
+
+    /**
+     * Changes the delay between two frames and resets the lateness counters.
+     * Must be called while holding the lock.
+     *
+     * @param delay The new delay in milliseconds.
+     */
+    private void setCurrentDelay(int delay) {
+        this.currentDelay = Math.max(delay, this.frameDelay);
+        this.lateFrames = 0;
+        this.onTimeFrames = 0;
+        if (this.framing) this.timer.setDelay(this.currentDelay);
+    }
+
+    /**
+     * Converts a frame rate into a timer delay.
+     *
+     * @param frameRate The target number of frames per second.
+     * @return The delay between two frames in milliseconds.
+     */
+    private static int toFrameDelay(int frameRate) {
+        if (frameRate <= 0) throw new IllegalArgumentException("Frame rate must be positive");
+        return Math.max(1, 1000 / frameRate);
+    }
+
+    /**
+     * A callback invoked once per frame by the scheduler.
+     */
+    @FunctionalInterface
+    public interface FrameCallback {
+        /**
+         * Called on the Event Dispatch Thread for every frame.
+         *
+         * @param frameTimeNanos The {@link System#nanoTime()} timestamp of the current frame.
+         * @return True to keep receiving frames, false to stop the animation.
+         */
+        boolean onFrame(long frameTimeNanos);
+    }
+
+    /**
+     * A handle to a registered animation or delayed task.
+     */
+    public final class Handle {
+        private final FrameCallback callback;
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        private Handle(FrameCallback callback, Runnable task, long deadline) {
+            this.callback = callback;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the animation or task. Cancelling an already finished handle has no effect.
+         */
+        public void cancel() {
+            this.cancelled = true;
+
+            if (this.task != null) {
+                synchronized (AnimationScheduler.this.lock) {
+                    if (AnimationScheduler.this.tasks.remove(this)) AnimationScheduler.this.reschedule();
+                }
+            }
+        }
+
+        /**
+         * Returns whether the handle was cancelled or has finished.
+         *
+         * @return True if the animation or task will not run anymore.
+         */
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.nozyx12.opentoast.history;
+
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * The history of what happened to the notifications, so that users can review the notifications they missed,
+ * including the ones dropped by the pending queue.
+ * The most recent entries are kept in a fixed-size ring buffer in memory. When a {@link ToastJournal} is opened,
+ * every entry is also appended to it from a single background thread, so the Event Dispatch Thread never waits on the disk.
+ * At most {@value #JOURNAL_QUEUE_CAPACITY} entries wait for the journal: when the disk cannot keep up,
+ * further entries are only kept in memory and counted as journal errors.
+ */
+public final class ToastHistory {
+    private static final ToastHistory INSTANCE = new ToastHistory(500);
+    private static final int JOURNAL_QUEUE_CAPACITY = 4096;
+
+    private final Object lock = new Object();
+    private ToastHistoryEntry[] entries;
+    private int head;
+    private int size;
+    private long nextSequence;
+    private ToastJournal journal;
+    private ExecutorService writer;
+    private long journalErrors;
+
+    /**
+     * Constructs a new ToastHistory keeping the specified number of entries in memory.
+     *
+     * @param capacity The maximum number of entries kept in memory. 0 keeps none.
+     */
+    public ToastHistory(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+        this.entries = new ToastHistoryEntry[capacity];
+    }
+
+    /**
+     * Returns the history shared by all toast notifications.
+     *
+     * @return The shared ToastHistory instance.
+     */
+    public static ToastHistory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records something that happened to a notification.
+     * This method can be called from any thread and never blocks on the journal.
+     *
+     * @param title        The title of the notification. Can be null.
+     * @param message      The message of the notification. Can be null.
+     * @param style        The style of the notification. Can be null.
+     * @param creationTime The time at which the notification was created, in milliseconds since the epoch.
+     * @param outcome      What happened to the notification.
+     * @return The recorded entry.
+     */
+    public ToastHistoryEntry record(String title, String message, ToastStyle style, long creationTime, ToastOutcome outcome) {
+        String styleName = style == null ? null : style.getClass().getName();
+
+        synchronized (this.lock) {
+            ToastHistoryEntry entry = new ToastHistoryEntry(this.nextSequence++, title, message, styleName, creationTime, System.currentTimeMillis(), outcome);
+
+            if (this.entries.length > 0) {
+                this.entries[(this.head + this.size) % this.entries.length] = entry;
+                if (this.size < this.entries.length) this.size++;
+                else this.head = (this.head + 1) % this.entries.length;
+            }
+
+            // Submitted while holding the lock so that the journal receives the entries in sequence order.
+            if (this.writer != null) {
+                ToastJournal journal = this.journal;
+
+                try {
+                    this.writer.execute(() -> this.append(journal, entry));
+                } catch (RejectedExecutionException e) {
+                    this.journalErrors++;
+                }
+            }
+
+            return entry;
+        }
+    }
+
+    /**
+     * Returns the most recent entries kept in memory.
+     *
+     * @param limit The maximum number of entries to return.
+     * @return The entries, most recent first.
+     */
+    public List<ToastHistoryEntry> getRecent(int limit) {
+        synchronized (this.lock) {
+            int count = Math.min(limit, this.size);
+            List<ToastHistoryEntry> recent = new ArrayList<>(count);
+
+            for (int i = 1; i <= count; i++) recent.add(this.entries[(this.head + this.size - i) % this.entries.length]);
+            return recent;
+        }
+    }
+
+    /**
+     * Sets the number of entries kept in memory. The most recent entries are kept.
+     *
+     * @param capacity The maximum number of entries kept in memory. 0 keeps none.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+
+        synchronized (this.lock) {
+            List<ToastHistoryEntry> recent = this.getRecent(capacity);
+            Collections.reverse(recent);
+
+            this.entries = recent.toArray(new ToastHistoryEntry[capacity]);
+            this.head = 0;
+            this.size = recent.size();
+        }
+    }
+
+    /**
+     * Returns the number of entries kept in memory.
+     *
+     * @return The capacity of the ring buffer.
+     */
+    public int getCapacity() {
+        synchronized (this.lock) {
+            return this.entries.length;
+        }
+    }
+
+    /**
+     * Returns the number of entries recorded since the history was created.
+     *
+     * @return The number of recorded entries.
+     */
+    public long getRecordedCount() {
+        synchronized (this.lock) {
+            return this.nextSequence;
+        }
+    }
+
+    /**
+     * Opens a journal file and appends every entry recorded from now on to it. A journal already open is closed first.
+     * Sequence numbers continue after the last entry of an existing journal.
+     *
+     * @param path The path of the journal file.
+     * @return The opened journal, which can be used to read the entries back.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+    public ToastJournal openJournal(Path path) throws IOException {
+        ToastJournal journal = ToastJournal.open(path);
+        Iterator<ToastHistoryEntry> last = journal.reverseIterator();
+        long lastSequence = last.hasNext() ? last.next().getSequence() : -1L;
+
+        this.closeJournal();
+
+        synchronized (this.lock) {
+            this.nextSequence = Math.max(this.nextSequence, lastSequence + 1);
+            this.journal = journal;
+            this.writer = this.createWriter(journal);
+        }
+
+        return journal;
+    }
+
+    /**
+     * Closes the journal once the entries already recorded have been appended to it. Does nothing if no journal is open.
+     */
+    public void closeJournal() {
+        ExecutorService writer;
+
+        synchronized (this.lock) {
+            writer = this.writer;
+            this.journal = null;
+            this.writer = null;
+        }
+
+        // The writer closes the journal once it has appended every queued entry.
+        if (writer != null) writer.shutdown();
+    }
+
+    /**
+     * Waits until the entries already recorded have been appended to the journal and writes them to the storage device.
+     *
+     * @param timeoutMillis The maximum time to wait in milliseconds.
+     * @return True if the entries were written, false if the timeout expired or no journal is open.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public boolean flushJournal(long timeoutMillis) throws InterruptedException {
+        ExecutorService writer;
+        ToastJournal journal;
+
+        synchronized (this.lock) {
+            writer = this.writer;
+            journal = this.journal;
+        }
+
+        if (writer == null) return false;
+
+        try {
+            writer.submit(journal::flush).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the journal entries are appended to.
+     *
+     * @return The open journal, or null if none is open.
+     */
+    public ToastJournal getJournal() {
+        synchronized (this.lock) {
+            return this.journal;
+        }
+    }
+
+    /**
+     * Returns the number of entries that could not be appended to the journal.
+     *
+     * @return The number of journal errors.
+     */
+    public long getJournalErrorCount() {
+        synchronized (this.lock) {
+            return this.journalErrors;
+        }
+    }
+
+    /**
+     * Creates the single thread appending entries to a journal, behind a bounded queue.
+     * The journal is closed once the writer is shut down and its queue is drained.
+     *
+     * @param journal The journal to append to.
+     * @return The writer of the journal.
+     */
+    private ExecutorService createWriter(ToastJournal journal) {
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "OpenToast History Journal");
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(JOURNAL_QUEUE_CAPACITY), factory) {
+            @Override
+            protected void terminated() {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    ToastHistory.this.journalFailed(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Appends an entry to a journal. Called on the journal thread.
+     *
+     * @param journal The journal to append to.
+     * @param entry   The entry to append.
+     */
+    private void append(ToastJournal journal, ToastHistoryEntry entry) {
+        try {
+            journal.append(entry);
+        } catch (IOException e) {
+            this.journalFailed(e);
+        }
+    }
+
+    /**
+     * Counts and reports an error of the journal.
+     *
+     * @param e The error.
+     */
+    private void journalFailed(IOException e) {
+        synchronized (this.lock) {
+            this.journalErrors++;
+        }
+
+        e.printStackTrace();
+    }
+}
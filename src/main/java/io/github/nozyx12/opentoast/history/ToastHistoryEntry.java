@@ -0,0 +1,100 @@
+package io.github.nozyx12.opentoast.history;
+
+/**
+ * An immutable record of something that happened to a notification.
+ */
+public final class ToastHistoryEntry {
+    private final long sequence;
+    private final String title;
+    private final String message;
+    private final String styleName;
+    private final long creationTime;
+    private final long time;
+    private final ToastOutcome outcome;
+
+    /**
+     * Constructs a new ToastHistoryEntry.
+     *
+     * @param sequence     The sequence number of the entry, increasing with every recorded entry.
+     * @param title        The title of the notification. Can be null.
+     * @param message      The message of the notification. Can be null.
+     * @param styleName    The name of the style of the notification. Can be null.
+     * @param creationTime The time at which the notification was created, in milliseconds since the epoch.
+     * @param time         The time at which the outcome happened, in milliseconds since the epoch.
+     * @param outcome      What happened to the notification.
+     */
+    public ToastHistoryEntry(long sequence, String title, String message, String styleName, long creationTime, long time, ToastOutcome outcome) {
+        if (outcome == null) throw new IllegalArgumentException("Outcome must not be null");
+
+        this.sequence = sequence;
+        this.title = title;
+        this.message = message;
+        this.styleName = styleName;
+        this.creationTime = creationTime;
+        this.time = time;
+        this.outcome = outcome;
+    }
+
+    /**
+     * Returns the sequence number of the entry.
+     *
+     * @return The sequence number, increasing with every recorded entry.
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Returns the title of the notification.
+     *
+     * @return The title, or null if the notification had none.
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Returns the message of the notification.
+     *
+     * @return The message, or null if the notification had none.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Returns the name of the style of the notification.
+     *
+     * @return The fully qualified class name of the style, or null if the notification had none.
+     */
+    public String getStyleName() {
+        return this.styleName;
+    }
+
+    /**
+     * Returns the time at which the notification was created.
+     *
+     * @return The creation time in milliseconds since the epoch.
+     */
+    public long getCreationTime() {
+        return this.creationTime;
+    }
+
+    /**
+     * Returns the time at which the outcome happened.
+     *
+     * @return The time of the outcome in milliseconds since the epoch.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Returns what happened to the notification.
+     *
+     * @return The outcome of the entry.
+     */
+    public ToastOutcome getOutcome() {
+        return this.outcome;
+    }
+}
@@ -0,0 +1,360 @@
+package io.github.nozyx12.opentoast.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only file of history entries, written and read through memory-mapped regions.
+ * <p>
+ * The file starts with a header holding a magic number, the format version and the end of the last complete entry.
+ * Each entry is stored as its length, its fields and its length again, so the file can be scanned from the end
+ * without an index: opening a view of the most recent entries costs the same with ten entries as with millions.
+ * The header is only updated once an entry is fully written, so an entry interrupted by a crash is ignored.
+ * Entries whose two lengths differ or whose texts overflow them are reported as corrupted when read.
+ * The file grows by regions of {@value #REGION_SIZE} bytes, the unused tail of the last region is filled with zeros.
+ * <p>
+ * Appending is thread-safe but blocks on the file system, so it should not happen on the Event Dispatch Thread;
+ * {@link ToastHistory} appends from a background thread.
+ */
+public final class ToastJournal implements Closeable {
+    private static final int MAGIC = 0x4F544A31;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int REGION_SIZE = 1 << 20;
+    private static final int READ_WINDOW_SIZE = 8 << 20;
+    private static final int MAX_TEXT_BYTES = 4096;
+    private static final int FIXED_SIZE = 8 + 8 + 8 + 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long end;
+    private long entryCount;
+
+    /**
+     * Constructs a new ToastJournal over an open file.
+     *
+     * @param path    The path of the journal file.
+     * @param channel The channel of the journal file, opened for reading and writing.
+     * @throws IOException If the file cannot be mapped or is not a journal.
+     */
+    private ToastJournal(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+
+        boolean created = channel.size() == 0L;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE);
+
+        if (created) {
+            this.header.putInt(0, MAGIC);
+            this.header.putInt(4, VERSION);
+            this.header.putLong(8, HEADER_SIZE);
+        } else if (this.header.getInt(0) != MAGIC || this.header.getInt(4) != VERSION) {
+            throw new IOException(path + " is not a toast journal");
+        }
+
+        this.end = this.header.getLong(8);
+        if (this.end < HEADER_SIZE || this.end > channel.size()) throw new IOException(path + " has a corrupted header");
+    }
+
+    /**
+     * Opens a journal file, creating it if it does not exist. New entries are appended after the existing ones.
+     *
+     * @param path The path of the journal file.
+     * @return The opened journal.
+     * @throws IOException If the file cannot be opened or is not a journal.
+     */
+    public static ToastJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            return new ToastJournal(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends an entry at the end of the journal. Texts longer than {@value #MAX_TEXT_BYTES} bytes are truncated.
+     *
+     * @param entry The entry to append.
+     * @throws IOException If the journal cannot be extended.
+     */
+    public synchronized void append(ToastHistoryEntry entry) throws IOException {
+        byte[] title = encode(entry.getTitle());
+        byte[] message = encode(entry.getMessage());
+        byte[] styleName = encode(entry.getStyleName());
+        int length = FIXED_SIZE + textSize(title) + textSize(message) + textSize(styleName);
+
+        ByteBuffer buffer = this.reserve(length + 8);
+        buffer.putInt(length);
+        buffer.putLong(entry.getSequence());
+        buffer.putLong(entry.getCreationTime());
+        buffer.putLong(entry.getTime());
+        buffer.put((byte) entry.getOutcome().ordinal());
+        putText(buffer, title);
+        putText(buffer, message);
+        putText(buffer, styleName);
+        buffer.putInt(length);
+
+        this.end += length + 8;
+        this.entryCount++;
+        this.header.putLong(8, this.end);
+    }
+
+    /**
+     * Writes the appended entries to the storage device.
+     */
+    public synchronized void flush() {
+        if (this.region != null) this.region.force();
+        this.header.force();
+    }
+
+    /**
+     * Returns the most recent entries of the journal.
+     *
+     * @param limit The maximum number of entries to return.
+     * @return The entries, most recent first.
+     */
+    public List<ToastHistoryEntry> readRecent(int limit) {
+        List<ToastHistoryEntry> entries = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<ToastHistoryEntry> iterator = this.reverseIterator();
+
+        while (entries.size() < limit && iterator.hasNext()) entries.add(iterator.next());
+        return entries;
+    }
+
+    /**
+     * Returns an iterator over the entries of the journal, from the most recent to the oldest.
+     * The iterator starts from the entries appended so far and does not see the entries appended afterward.
+     * It maps the file lazily by windows of {@value #READ_WINDOW_SIZE} bytes, so only the entries actually read are loaded.
+     *
+     * @return The reverse iterator.
+     * @throws UncheckedIOException If the journal cannot be read while iterating.
+     */
+    public Iterator<ToastHistoryEntry> reverseIterator() {
+        return new ReverseIterator(this.getSize());
+    }
+
+    /**
+     * Returns the position of the end of the last entry, which is the size of the meaningful part of the file.
+     *
+     * @return The size of the journal in bytes.
+     */
+    public synchronized long getSize() {
+        return this.end;
+    }
+
+    /**
+     * Returns the number of entries appended since the journal was opened.
+     *
+     * @return The number of appended entries.
+     */
+    public synchronized long getAppendedCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the path of the journal file.
+     *
+     * @return The path of the file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Flushes and closes the journal. The journal must not be used afterward.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!this.channel.isOpen()) return;
+
+        this.flush();
+        this.region = null;
+        this.channel.close();
+    }
+
+    /**
+     * Returns a buffer positioned at the end of the journal with room for the specified number of bytes,
+     * mapping a new region if the current one is full.
+     *
+     * @param size The number of bytes to write.
+     * @return The buffer to write into.
+     * @throws IOException If the file cannot be extended.
+     */
+    private ByteBuffer reserve(int size) throws IOException {
+        if (this.region == null || this.end + size > this.regionStart + this.region.capacity()) {
+            if (this.region != null) this.region.force();
+
+            this.regionStart = this.end;
+            this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, this.regionStart, Math.max(REGION_SIZE, size));
+        }
+
+        this.region.position((int) (this.end - this.regionStart));
+        return this.region;
+    }
+
+    /**
+     * Encodes a text in UTF-8, truncated to {@value #MAX_TEXT_BYTES} bytes.
+     *
+     * @param text The text to encode. Can be null.
+     * @return The encoded text, or null if the text is null.
+     */
+    private static byte[] encode(String text) {
+        if (text == null) return null;
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TEXT_BYTES) return bytes;
+
+        int length = MAX_TEXT_BYTES;
+        // Do not cut a multi-byte character in half.
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) length--;
+
+        byte[] truncated = new byte[length];
+        System.arraycopy(bytes, 0, truncated, 0, length);
+        return truncated;
+    }
+
+    /**
+     * Returns the number of bytes a text takes in an entry.
+     *
+     * @param text The encoded text. Can be null.
+     * @return The size of the length prefix and of the text.
+     */
+    private static int textSize(byte[] text) {
+        return 4 + (text == null ? 0 : text.length);
+    }
+
+    /**
+     * Writes a text prefixed by its length, or -1 for a null text.
+     *
+     * @param buffer The buffer to write into.
+     * @param text   The encoded text. Can be null.
+     */
+    private static void putText(ByteBuffer buffer, byte[] text) {
+        if (text == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        buffer.putInt(text.length);
+        buffer.put(text);
+    }
+
+    /**
+     * An iterator reading the entries of the journal backward, through read-only windows of the file.
+     */
+    private final class ReverseIterator implements Iterator<ToastHistoryEntry> {
+        private final ToastOutcome[] outcomes = ToastOutcome.values();
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long position;
+
+        /**
+         * Constructs a new ReverseIterator.
+         *
+         * @param end The end of the last entry to read.
+         */
+        private ReverseIterator(long end) {
+            this.position = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.position > HEADER_SIZE;
+        }
+
+        @Override
+        public ToastHistoryEntry next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+
+            try {
+                int length = this.map(this.position - 4, 4).getInt();
+                long start = this.position - length - 8;
+                // The three text length prefixes are always written, even for null texts.
+                if (length < FIXED_SIZE + 12 || start < HEADER_SIZE) throw new IOException(ToastJournal.this.path + " is corrupted at " + this.position);
+
+                ByteBuffer buffer = this.map(start, length + 4);
+                if (buffer.getInt() != length) throw new IOException(ToastJournal.this.path + " is corrupted at " + start);
+
+                // Read the fields through a view ending with the entry, so a corrupted text length cannot read past it.
+                buffer = buffer.slice();
+                buffer.limit(length);
+
+                long sequence = buffer.getLong();
+                long creationTime = buffer.getLong();
+                long time = buffer.getLong();
+                int ordinal = buffer.get();
+                if (ordinal < 0 || ordinal >= this.outcomes.length) throw new IOException(ToastJournal.this.path + " has an unknown outcome at " + start);
+
+                ToastOutcome outcome = this.outcomes[ordinal];
+                String title = this.getText(buffer, start);
+                String message = this.getText(buffer, start);
+                String styleName = this.getText(buffer, start);
+                if (buffer.hasRemaining()) throw new IOException(ToastJournal.this.path + " is corrupted at " + start);
+
+                this.position = start;
+                return new ToastHistoryEntry(sequence, title, message, styleName, creationTime, time, outcome);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Reads a text written by {@link #putText(ByteBuffer, byte[])}.
+         *
+         * @param buffer The fields of the entry, limited to the entry.
+         * @param start  The offset of the entry in the file, for error messages.
+         * @return The decoded text, or null.
+         * @throws IOException If the length of the text does not fit in the entry.
+         */
+        private String getText(ByteBuffer buffer, long start) throws IOException {
+            if (buffer.remaining() < 4) throw new IOException(ToastJournal.this.path + " is corrupted at " + start);
+
+            int length = buffer.getInt();
+            if (length == -1) return null;
+            if (length < 0 || length > buffer.remaining()) throw new IOException(ToastJournal.this.path + " is corrupted at " + start);
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns a buffer positioned at the specified offset of the file, mapping a new window ending at the current
+         * position if the bytes are not inside the current one.
+         *
+         * @param offset The offset in the file.
+         * @param size   The number of bytes to read.
+         * @return The buffer to read from.
+         * @throws IOException If the file cannot be mapped.
+         */
+        private ByteBuffer map(long offset, int size) throws IOException {
+            if (this.window == null || offset < this.windowStart || offset + size > this.windowStart + this.window.capacity()) {
+                long windowEnd = Math.max(offset + size, this.position);
+                this.windowStart = Math.max(0L, Math.min(offset, windowEnd - READ_WINDOW_SIZE));
+                this.window = ToastJournal.this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, windowEnd - this.windowStart);
+            }
+
+            this.window.position((int) (offset - this.windowStart));
+            return this.window;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.nozyx12.opentoast.history;
+
+/**
+ * What happened to a notification, as recorded in the {@link ToastHistory}.
+ */
+public enum ToastOutcome {
+    /**
+     * The notification was fully shown on the screen.
+     */
+    SHOWN,
+
+    /**
+     * The notification was closed, automatically or by the user.
+     */
+    CLOSED,
+
+    /**
+     * The notification was dropped by the pending queue or the rate limiter and never shown.
+     */
+    DROPPED,
+
+    /**
+     * The notification was merged into an identical visible notification.
+     */
+    COALESCED
+}
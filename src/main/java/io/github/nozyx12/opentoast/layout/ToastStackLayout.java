@@ -0,0 +1,179 @@
+package io.github.nozyx12.opentoast.layout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A thread-safe layout of stacked toast notifications.
+ * Each notification reserves a slot whose offset is the total height of the slots below it.
+ * The running total of the stack height is kept up to date, so reserving a slot does not walk the stack.
+ * When a slot is released or resized, the slots above it are shifted to fill the gap and their listeners are notified.
+ */
+public class ToastStackLayout {
+    private final int margin;
+    private final List<Slot> slots = new ArrayList<>();
+    private int stackHeight;
+
+    /**
+     * Constructs a new ToastStackLayout.
+     *
+     * @param margin The space left between two stacked notifications.
+     */
+    public ToastStackLayout(int margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Reserves a slot on top of the stack.
+     *
+     * @param height   The height of the notification.
+     * @param limit    The maximum height the stack may reach, including the new slot.
+     * @param listener A listener notified when the slot is moved by a reflow. Can be null.
+     * @return The reserved slot, or null if there is not enough space left.
+     */
+    public synchronized Slot reserve(int height, int limit, SlotListener listener) {
+        if (this.stackHeight + height > limit) return null;
+
+        Slot slot = new Slot(this.slots.size(), this.stackHeight, height, listener);
+        this.slots.add(slot);
+        this.stackHeight += height + this.margin;
+
+        return slot;
+    }
+
+    /**
+     * Releases a slot and moves every slot above it down to fill the gap.
+     * The listeners of the moved slots are notified outside of the layout lock.
+     * Releasing a slot twice has no effect.
+     *
+     * @param slot The slot to release.
+     */
+    public void release(Slot slot) {
+        List<Slot> moved;
+
+        synchronized (this) {
+            if (slot.released) return;
+
+            slot.released = true;
+            int removed = slot.height + this.margin;
+            this.slots.remove(slot.index);
+            this.stackHeight -= removed;
+
+            moved = new ArrayList<>(this.slots.size() - slot.index);
+
+            for (int i = slot.index; i < this.slots.size(); i++) {
+                Slot above = this.slots.get(i);
+                above.index = i;
+                above.offset -= removed;
+                moved.add(above);
+            }
+        }
+
+        for (Slot above : moved) {
+            if (above.listener != null) above.listener.onSlotMoved(above);
+        }
+    }
+
+    /**
+     * Changes the height of a slot and moves every slot above it accordingly.
+     * The stack may exceed its limit when a slot grows. The listeners of the moved slots are notified outside of the layout lock.
+     * Resizing a released slot has no effect.
+     *
+     * @param slot   The slot to resize.
+     * @param height The new height of the slot.
+     */
+    public void resize(Slot slot, int height) {
+        List<Slot> moved;
+
+        synchronized (this) {
+            int delta = height - slot.height;
+            if (slot.released || delta == 0) return;
+
+            slot.height = height;
+            this.stackHeight += delta;
+
+            moved = new ArrayList<>(this.slots.size() - slot.index - 1);
+
+            for (int i = slot.index + 1; i < this.slots.size(); i++) {
+                Slot above = this.slots.get(i);
+                above.offset += delta;
+                moved.add(above);
+            }
+        }
+
+        for (Slot above : moved) {
+            if (above.listener != null) above.listener.onSlotMoved(above);
+        }
+    }
+
+    /**
+     * Returns the number of reserved slots.
+     *
+     * @return The number of notifications in the stack.
+     */
+    public synchronized int getSlotCount() {
+        return this.slots.size();
+    }
+
+    /**
+     * Returns the total height of the stack, margins included.
+     *
+     * @return The height of the stack.
+     */
+    public synchronized int getStackHeight() {
+        return this.stackHeight;
+    }
+
+    /**
+     * A listener notified when a slot is moved after another slot was released.
+     */
+    @FunctionalInterface
+    public interface SlotListener {
+        /**
+         * Called when the offset of a slot changed. May be called from any thread.
+         *
+         * @param slot The moved slot.
+         */
+        void onSlotMoved(Slot slot);
+    }
+
+    /**
+     * A position reserved in the stack by a notification.
+     */
+    public final class Slot {
+        private final SlotListener listener;
+        private int height;
+        private int index;
+        private int offset;
+        private boolean released;
+
+        private Slot(int index, int offset, int height, SlotListener listener) {
+            this.index = index;
+            this.offset = offset;
+            this.height = height;
+            this.listener = listener;
+        }
+
+        /**
+         * Returns the distance between the bottom of the stack and the bottom of this slot.
+         *
+         * @return The offset of the slot.
+         */
+        public int getOffset() {
+            synchronized (ToastStackLayout.this) {
+                return this.offset;
+            }
+        }
+
+        /**
+         * Returns the height reserved by this slot.
+         *
+         * @return The height of the slot.
+         */
+        public int getHeight() {
+            synchronized (ToastStackLayout.this) {
+                return this.height;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, using power-of-two nanosecond buckets.
+ * Recording a value costs a few atomic increments, and percentiles are reported with a precision of a factor of two.
+ */
+public class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+
+        this.buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value) - (value == 0L ? 0 : 1));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(value);
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return The count of values.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMean() {
+        long count = this.count.get();
+        return count == 0L ? 0L : this.sum.get() / count;
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns an upper bound of the specified percentile of the recorded durations.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper bound of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long count = this.count.get();
+        if (count == 0L) return 0L;
+
+        long rank = (long) Math.ceil(count * Math.max(0d, Math.min(100d, percentile)) / 100d);
+        long seen = 0L;
+
+        for (int i = 0; i < 64; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) return Math.min(i == 63 ? Long.MAX_VALUE : (1L << (i + 1)) - 1, this.max.get());
+        }
+
+        return this.max.get();
+    }
+
+    /**
+     * Clears every recorded duration.
+     */
+    public void reset() {
+        for (int i = 0; i < 64; i++) this.buckets.set(i, 0L);
+
+        this.count.set(0L);
+        this.sum.set(0L);
+        this.max.set(0L);
+    }
+}
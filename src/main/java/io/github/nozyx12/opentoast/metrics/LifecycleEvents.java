@@ -0,0 +1,71 @@
+package io.github.nozyx12.opentoast.metrics;
+
+/**
+ * Creates and commits the profiling events of the toast lifecycle.
+ * The Flight Recorder implementation is compiled separately against Java 11 and loaded by name by {@link ToastRecorder},
+ * so that the library itself keeps running on Java 8.
+ */
+interface LifecycleEvents {
+    /**
+     * Begins a window creation event.
+     *
+     * @return The started event, or null if the event type is disabled.
+     */
+    Object beginCreate();
+
+    /**
+     * Ends and commits a window creation event.
+     *
+     * @param token The event returned by {@link #beginCreate()}.
+     * @param title The title of the notification.
+     */
+    void commitCreate(Object token, String title);
+
+    /**
+     * Begins a display event.
+     *
+     * @return The started event, or null if the event type is disabled.
+     */
+    Object beginDisplay();
+
+    /**
+     * Ends and commits a display event.
+     *
+     * @param token               The event returned by {@link #beginDisplay()}.
+     * @param title               The title of the notification.
+     * @param displayLatencyNanos The time between the display request and the end of the fade-in.
+     */
+    void commitDisplay(Object token, String title, long displayLatencyNanos);
+
+    /**
+     * Begins a frame event.
+     *
+     * @return The started event, or null if the event type is disabled.
+     */
+    Object beginFrame();
+
+    /**
+     * Ends and commits a frame event.
+     *
+     * @param token         The event returned by {@link #beginFrame()}.
+     * @param latenessNanos How late the frame started.
+     * @param animations    The number of animations ticked by the frame.
+     */
+    void commitFrame(Object token, long latenessNanos, int animations);
+
+    /**
+     * Begins a close event.
+     *
+     * @return The started event, or null if the event type is disabled.
+     */
+    Object beginClose();
+
+    /**
+     * Ends and commits a close event.
+     *
+     * @param token   The event returned by {@link #beginClose()}.
+     * @param title   The title of the notification.
+     * @param dropped True if the notification was dropped instead of closed.
+     */
+    void commitClose(Object token, String title, boolean dropped);
+}
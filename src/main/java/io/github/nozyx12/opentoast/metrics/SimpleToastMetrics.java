@@ -0,0 +1,167 @@
+package io.github.nozyx12.opentoast.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A ready-to-use {@link ToastMetrics} implementation keeping counters, gauges and latency histograms in memory.
+ */
+public class SimpleToastMetrics implements ToastMetrics {
+    private final LongAdder created = new LongAdder();
+    private final LongAdder shown = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LatencyHistogram createTime = new LatencyHistogram();
+    private final LatencyHistogram displayLatency = new LatencyHistogram();
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+    private final LatencyHistogram frameLateness = new LatencyHistogram();
+
+    @Override
+    public void onToastCreated() {
+        this.created.increment();
+    }
+
+    @Override
+    public void onToastShown(long displayLatencyNanos) {
+        this.shown.increment();
+        this.displayLatency.record(displayLatencyNanos);
+    }
+
+    @Override
+    public void onToastCoalesced() {
+        this.coalesced.increment();
+    }
+
+    @Override
+    public void onToastDropped() {
+        this.dropped.increment();
+    }
+
+    @Override
+    public void onToastClosed() {
+        this.closed.increment();
+    }
+
+    @Override
+    public void onActiveToastsChanged(int active) {
+        this.active.set(active);
+    }
+
+    @Override
+    public void onPendingToastsChanged(int pending) {
+        this.pending.set(pending);
+    }
+
+    @Override
+    public void recordCreateTime(long durationNanos) {
+        this.createTime.record(durationNanos);
+    }
+
+    @Override
+    public void recordFrame(long durationNanos, long latenessNanos, int animations) {
+        this.frameTime.record(durationNanos);
+        this.frameLateness.record(latenessNanos);
+    }
+
+    /**
+     * Returns the number of created notifications.
+     *
+     * @return The created count.
+     */
+    public long getCreatedCount() {
+        return this.created.sum();
+    }
+
+    /**
+     * Returns the number of notifications fully shown.
+     *
+     * @return The shown count.
+     */
+    public long getShownCount() {
+        return this.shown.sum();
+    }
+
+    /**
+     * Returns the number of notifications merged into an identical one.
+     *
+     * @return The coalesced count.
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Returns the number of dropped notifications.
+     *
+     * @return The dropped count.
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Returns the number of closed notifications.
+     *
+     * @return The closed count.
+     */
+    public long getClosedCount() {
+        return this.closed.sum();
+    }
+
+    /**
+     * Returns the number of notifications currently on the screen.
+     *
+     * @return The active gauge.
+     */
+    public int getActiveCount() {
+        return this.active.get();
+    }
+
+    /**
+     * Returns the number of notifications currently waiting in the pending queue.
+     *
+     * @return The pending gauge.
+     */
+    public int getPendingCount() {
+        return this.pending.get();
+    }
+
+    /**
+     * Returns the histogram of window creation times.
+     *
+     * @return The create time histogram.
+     */
+    public LatencyHistogram getCreateTime() {
+        return this.createTime;
+    }
+
+    /**
+     * Returns the histogram of the times between display requests and fully shown notifications.
+     *
+     * @return The display latency histogram.
+     */
+    public LatencyHistogram getDisplayLatency() {
+        return this.displayLatency;
+    }
+
+    /**
+     * Returns the histogram of the time spent on the Event Dispatch Thread by each animation frame.
+     *
+     * @return The frame time histogram.
+     */
+    public LatencyHistogram getFrameTime() {
+        return this.frameTime;
+    }
+
+    /**
+     * Returns the histogram of how late animation frames started.
+     *
+     * @return The frame lateness histogram.
+     */
+    public LatencyHistogram getFrameLateness() {
+        return this.frameLateness;
+    }
+}
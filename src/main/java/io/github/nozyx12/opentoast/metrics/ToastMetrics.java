@@ -0,0 +1,71 @@
+package io.github.nozyx12.opentoast.metrics;
+
+/**
+ * A listener receiving the measurements of the toast lifecycle, to be bridged to a metrics library.
+ * Every method has an empty default implementation, so implementations only override what they collect.
+ * Methods may be called from any thread, including the Event Dispatch Thread, and must return quickly.
+ * Install an implementation with {@link ToastRecorder#install(ToastMetrics)}.
+ */
+public interface ToastMetrics {
+    /**
+     * The default implementation, ignoring every measurement.
+     */
+    ToastMetrics NOOP = new ToastMetrics() {};
+
+    /**
+     * Called when a notification is created.
+     */
+    default void onToastCreated() {}
+
+    /**
+     * Called when a notification is fully shown.
+     *
+     * @param displayLatencyNanos The time between the display request and the end of the fade-in, queueing included.
+     */
+    default void onToastShown(long displayLatencyNanos) {}
+
+    /**
+     * Called when a notification is merged into an identical visible one.
+     */
+    default void onToastCoalesced() {}
+
+    /**
+     * Called when a notification is dropped because there was no room for it.
+     */
+    default void onToastDropped() {}
+
+    /**
+     * Called when a notification is closed.
+     */
+    default void onToastClosed() {}
+
+    /**
+     * Called when the number of notifications on the screen changes.
+     *
+     * @param active The number of active notifications.
+     */
+    default void onActiveToastsChanged(int active) {}
+
+    /**
+     * Called when the number of notifications waiting in the pending queue changes.
+     *
+     * @param pending The depth of the pending queue.
+     */
+    default void onPendingToastsChanged(int pending) {}
+
+    /**
+     * Called after the window of a notification is created or re-skinned.
+     *
+     * @param durationNanos The time spent building the window.
+     */
+    default void recordCreateTime(long durationNanos) {}
+
+    /**
+     * Called after every animation frame.
+     *
+     * @param durationNanos The time spent on the Event Dispatch Thread running the frame.
+     * @param latenessNanos How late the frame started compared to the target frame rate.
+     * @param animations    The number of animations ticked by the frame.
+     */
+    default void recordFrame(long durationNanos, long latenessNanos, int animations) {}
+}
@@ -0,0 +1,180 @@
+package io.github.nozyx12.opentoast.metrics;
+
+/**
+ * The instrumentation entry point of OpenToast.
+ * Forwards every measurement to the installed {@link ToastMetrics} and emits JDK Flight Recorder events
+ * for the create, display, frame and close phases, so that toast activity can be correlated with UI jank in recordings.
+ * Phases are measured with a begin/end pair: the begin methods return an opaque token, null when no event is recorded,
+ * which must be passed to the matching end method.
+ */
+public final class ToastRecorder {
+    private static final LifecycleEvents EVENTS = loadFlightRecorderEvents();
+    private static volatile ToastMetrics metrics = ToastMetrics.NOOP;
+
+    private ToastRecorder() {}
+
+    /**
+     * Installs the metrics implementation receiving the measurements.
+     *
+     * @param toastMetrics The metrics implementation, or null to restore the no-op default.
+     */
+    public static void install(ToastMetrics toastMetrics) {
+        metrics = toastMetrics != null ? toastMetrics : ToastMetrics.NOOP;
+    }
+
+    /**
+     * Returns the installed metrics implementation.
+     *
+     * @return The metrics implementation, {@link ToastMetrics#NOOP} by default.
+     */
+    public static ToastMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Begins measuring the creation of a window.
+     *
+     * @return The token to pass to {@link #endCreate(Object, long, String)}.
+     */
+    public static Object beginCreate() {
+        return EVENTS != null ? EVENTS.beginCreate() : null;
+    }
+
+    /**
+     * Ends measuring the creation of a window.
+     *
+     * @param token      The token returned by {@link #beginCreate()}.
+     * @param startNanos The {@link System#nanoTime()} timestamp at which the creation started.
+     * @param title      The title of the notification.
+     */
+    public static void endCreate(Object token, long startNanos, String title) {
+        metrics.recordCreateTime(System.nanoTime() - startNanos);
+        if (token != null) EVENTS.commitCreate(token, title);
+    }
+
+    /**
+     * Begins measuring the fade-in of a notification.
+     *
+     * @return The token to pass to {@link #endDisplay(Object, String, long)}.
+     */
+    public static Object beginDisplay() {
+        return EVENTS != null ? EVENTS.beginDisplay() : null;
+    }
+
+    /**
+     * Ends measuring the fade-in of a notification, which is now fully shown.
+     *
+     * @param token               The token returned by {@link #beginDisplay()}.
+     * @param title               The title of the notification.
+     * @param displayLatencyNanos The time between the display request and now.
+     */
+    public static void endDisplay(Object token, String title, long displayLatencyNanos) {
+        metrics.onToastShown(displayLatencyNanos);
+        if (token != null) EVENTS.commitDisplay(token, title, displayLatencyNanos);
+    }
+
+    /**
+     * Begins measuring an animation frame.
+     *
+     * @return The token to pass to {@link #endFrame(Object, long, long, int)}.
+     */
+    public static Object beginFrame() {
+        return EVENTS != null ? EVENTS.beginFrame() : null;
+    }
+
+    /**
+     * Ends measuring an animation frame.
+     *
+     * @param token         The token returned by {@link #beginFrame()}.
+     * @param startNanos    The {@link System#nanoTime()} timestamp at which the frame started.
+     * @param latenessNanos How late the frame started compared to the target frame rate.
+     * @param animations    The number of animations ticked by the frame.
+     */
+    public static void endFrame(Object token, long startNanos, long latenessNanos, int animations) {
+        metrics.recordFrame(System.nanoTime() - startNanos, latenessNanos, animations);
+        if (token != null) EVENTS.commitFrame(token, latenessNanos, animations);
+    }
+
+    /**
+     * Begins measuring the fade-out of a notification.
+     *
+     * @return The token to pass to {@link #endClose(Object, String)}.
+     */
+    public static Object beginClose() {
+        return EVENTS != null ? EVENTS.beginClose() : null;
+    }
+
+    /**
+     * Ends measuring the fade-out of a notification, which is now closed.
+     *
+     * @param token The token returned by {@link #beginClose()}.
+     * @param title The title of the notification.
+     */
+    public static void endClose(Object token, String title) {
+        metrics.onToastClosed();
+        if (token != null) EVENTS.commitClose(token, title, false);
+    }
+
+    /**
+     * Records a notification dropped because there was no room for it.
+     *
+     * @param title The title of the notification.
+     */
+    public static void dropped(String title) {
+        metrics.onToastDropped();
+
+        if (EVENTS != null) {
+            Object token = EVENTS.beginClose();
+            if (token != null) EVENTS.commitClose(token, title, true);
+        }
+    }
+
+    /**
+     * Records the creation of a notification.
+     */
+    public static void created() {
+        metrics.onToastCreated();
+    }
+
+    /**
+     * Records a notification merged into an identical visible one.
+     */
+    public static void coalesced() {
+        metrics.onToastCoalesced();
+    }
+
+    /**
+     * Records the number of notifications on the screen.
+     *
+     * @param active The number of active notifications.
+     */
+    public static void activeChanged(int active) {
+        metrics.onActiveToastsChanged(active);
+    }
+
+    /**
+     * Records the depth of the pending queue.
+     *
+     * @param pending The number of waiting notifications.
+     */
+    public static void pendingChanged(int pending) {
+        metrics.onPendingToastsChanged(pending);
+    }
+
+    /**
+     * Loads the Flight Recorder events if the JDK Flight Recorder API is available on this runtime.
+     * The events are compiled separately against Java 11, so they are only loaded by name.
+     *
+     * @return The Flight Recorder events, or null if they cannot be emitted.
+     */
+    private static LifecycleEvents loadFlightRecorderEvents() {
+        ClassLoader loader = ToastRecorder.class.getClassLoader();
+
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+            return (LifecycleEvents) Class.forName("io.github.nozyx12.opentoast.metrics.FlightRecorderEvents", true, loader).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+    }
+}
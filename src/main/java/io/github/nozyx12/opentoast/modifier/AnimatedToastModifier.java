@@ -0,0 +1,70 @@
+package io.github.nozyx12.opentoast.modifier;
+
+import io.github.nozyx12.opentoast.ToastSurface;
+
+import javax.swing.*;
+
+/**
+ * A ToastModifier animating the notification frame by frame.
+ * Instead of starting its own timers, an animated modifier is ticked by the animation loop of the notification itself:
+ * every modifier of a notification is updated from a single frame callback, see {@link CompositeAnimation}.
+ * A modifier may be shared by several notifications, so any per-notification state belongs to the returned {@link Animation}.
+ */
+public interface AnimatedToastModifier extends ToastModifier {
+    /**
+     * Returns the duration of the animation for the specified phase.
+     *
+     * @param phase The phase of the notification.
+     * @return The duration in milliseconds, or 0 if the modifier does not animate this phase.
+     */
+    int getDuration(AnimationPhase phase);
+
+    /**
+     * Returns the timing function applied to the progress of the animation.
+     *
+     * @return The easing of the animation, linear by default.
+     */
+    default Easing getEasing() {
+        return Easing.LINEAR;
+    }
+
+    /**
+     * Starts animating a notification. Called on the Event Dispatch Thread before the first frame of the phase.
+     *
+     * @param surface The surface of the notification.
+     * @param phase   The phase being animated.
+     * @return The animation of this notification, or null if there is nothing to animate.
+     */
+    Animation animate(ToastSurface surface, AnimationPhase phase);
+
+    /**
+     * Called when the toast notification is displayed. Does nothing by default; animations are driven by {@link #animate}.
+     *
+     * @param panel The JPanel representing the content of the toast notification.
+     */
+    @Override
+    default void onDisplay(JPanel panel) {}
+
+    /**
+     * Called when the toast notification is closing. Does nothing by default; animations are driven by {@link #animate}.
+     *
+     * @param panel The JPanel representing the content of the toast notification.
+     */
+    @Override
+    default void onClose(JPanel panel) {}
+
+    /**
+     * The animation of a single notification during a single phase.
+     */
+    @FunctionalInterface
+    interface Animation {
+        /**
+         * Called on the Event Dispatch Thread for every frame until the animation has finished.
+         * The last frame is always delivered with a progress of exactly 1.
+         *
+         * @param progress      The eased progress of the animation, between 0 and 1.
+         * @param elapsedMillis The time elapsed since the start of the animation in milliseconds.
+         */
+        void onFrame(float progress, long elapsedMillis);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.nozyx12.opentoast.modifier;
+
+/**
+ * The phases of a toast notification during which an {@link AnimatedToastModifier} can animate it.
+ */
+public enum AnimationPhase {
+    /**
+     * The notification is appearing on screen.
+     */
+    DISPLAY,
+
+    /**
+     * The notification is closing and will be released once every animation has finished.
+     */
+    CLOSE
+}
@@ -0,0 +1,96 @@
+package io.github.nozyx12.opentoast.modifier;
+
+import io.github.nozyx12.opentoast.ToastSurface;
+import io.github.nozyx12.opentoast.animation.AnimationScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composes the animations of every {@link AnimatedToastModifier} of a notification into a single frame update,
+ * so stacking modifiers costs one frame callback per notification rather than one timer per modifier.
+ */
+public final class CompositeAnimation implements AnimationScheduler.FrameCallback {
+    private final List<Entry> entries;
+    private final long startTime;
+
+    /**
+     * Constructs a new CompositeAnimation.
+     *
+     * @param entries   The animations to compose.
+     * @param startTime The {@link System#nanoTime()} timestamp at which the animations started.
+     */
+    private CompositeAnimation(List<Entry> entries, long startTime) {
+        this.entries = entries;
+        this.startTime = startTime;
+    }
+
+    /**
+     * Starts the animations of the specified modifiers for a notification.
+     * Must be called on the Event Dispatch Thread.
+     *
+     * @param modifiers The modifiers of the notification; those that are not animated are ignored.
+     * @param surface   The surface of the notification.
+     * @param phase     The phase being animated.
+     * @param startTime The {@link System#nanoTime()} timestamp at which the animations start.
+     * @return The composed animation, or null if none of the modifiers animates this phase.
+     */
+    public static CompositeAnimation start(List<ToastModifier> modifiers, ToastSurface surface, AnimationPhase phase, long startTime) {
+        List<Entry> entries = null;
+
+        for (ToastModifier modifier : modifiers) {
+            if (!(modifier instanceof AnimatedToastModifier)) continue;
+
+            AnimatedToastModifier animated = (AnimatedToastModifier) modifier;
+            int duration = Math.max(0, animated.getDuration(phase));
+            AnimatedToastModifier.Animation animation = animated.animate(surface, phase);
+            if (animation == null) continue;
+
+            if (entries == null) entries = new ArrayList<>();
+            entries.add(new Entry(animation, animated.getEasing(), duration));
+        }
+
+        return entries == null ? null : new CompositeAnimation(entries, startTime);
+    }
+
+    /**
+     * Advances every unfinished animation to the specified frame.
+     *
+     * @param frameTimeNanos The {@link System#nanoTime()} timestamp of the current frame.
+     * @return True while at least one animation is still running.
+     */
+    @Override
+    public boolean onFrame(long frameTimeNanos) {
+        long elapsedTime = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(frameTimeNanos - this.startTime));
+        boolean running = false;
+
+        for (Entry entry : this.entries) {
+            if (entry.finished) continue;
+
+            float progress = entry.duration == 0 ? 1f : Math.min(1f, (float) elapsedTime / entry.duration);
+            entry.finished = progress >= 1f;
+            entry.animation.onFrame(entry.finished ? 1f : entry.easing.apply(progress), elapsedTime);
+
+            running |= !entry.finished;
+        }
+
+        return running;
+    }
+
+    /**
+     * A single animation of the composite.
+     */
+    private static final class Entry {
+        private final AnimatedToastModifier.Animation animation;
+        private final Easing easing;
+        private final int duration;
+        private boolean finished;
+
+        private Entry(AnimatedToastModifier.Animation animation, Easing easing, int duration) {
+            this.animation = animation;
+            this.easing = easing;
+            this.duration = duration;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.nozyx12.opentoast.modifier;
+
+/**
+ * A timing function mapping the linear progress of an animation to its eased progress.
+ */
+@FunctionalInterface
+public interface Easing {
+    /**
+     * Progresses at a constant rate.
+     */
+    Easing LINEAR = t -> t;
+
+    /**
+     * Starts slowly and accelerates.
+     */
+    Easing EASE_IN = t -> t * t * t;
+
+    /**
+     * Starts quickly and decelerates.
+     */
+    Easing EASE_OUT = t -> {
+        float inverse = 1f - t;
+        return 1f - inverse * inverse * inverse;
+    };
+
+    /**
+     * Accelerates during the first half and decelerates during the second half.
+     */
+    Easing EASE_IN_OUT = t -> {
+        if (t < 0.5f) return 4f * t * t * t;
+
+        float inverse = -2f * t + 2f;
+        return 1f - inverse * inverse * inverse / 2f;
+    };
+
+    /**
+     * Applies the timing function.
+     *
+     * @param progress The linear progress of the animation, between 0 and 1.
+     * @return The eased progress, 0 at the start and 1 at the end of the animation.
+     */
+    float apply(float progress);
+}
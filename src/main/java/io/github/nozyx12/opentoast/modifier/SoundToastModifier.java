@@ -1,18 +1,16 @@
 package io.github.nozyx12.opentoast.modifier;
 
-import javax.sound.sampled.*;
 import javax.swing.*;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 /**
  * A ToastModifier implementation that plays a sound when the toast notification is displayed.
- * The sound is played from a byte array representing the audio data.
+ * The sound is decoded once and played by the shared {@link ToastSoundPlayer}, off the Event Dispatch Thread.
  */
 public class SoundToastModifier implements ToastModifier {
-    private final byte[] displaySoundData;
+    private final ToastSoundPlayer.Sound displaySound;
 
     /**
      * Constructs a SoundToastModifier with a specified sound file input stream.
@@ -20,18 +18,18 @@ public class SoundToastModifier implements ToastModifier {
      * @param displaySoundFileInputStream An InputStream for the sound file to be played.
      */
     public SoundToastModifier(InputStream displaySoundFileInputStream) {
-        this.displaySoundData = this.readAllBytes(displaySoundFileInputStream);
+        this.displaySound = ToastSoundPlayer.getInstance().load(this.readAllBytes(displaySoundFileInputStream));
     }
 
     /**
      * Called when the toast notification is displayed.
-     * This method plays the associated sound.
+     * This method plays the associated sound in the background.
      *
      * @param panel The JPanel representing the content of the toast notification.
      */
     @Override
     public void onDisplay(JPanel panel) {
-        this.playSound(this.displaySoundData);
+        ToastSoundPlayer.getInstance().play(this.displaySound);
     }
 
     /**
@@ -43,26 +41,6 @@ public class SoundToastModifier implements ToastModifier {
     @Override
     public void onClose(JPanel panel) {}
 
-    /**
-     * Plays the specified sound data.
-     *
-     * @param soundData The byte array containing the audio data to be played.
-     */
-    private void playSound(byte[] soundData) {
-        try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new ByteArrayInputStream(soundData))) {
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
-
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) clip.close();
-            });
-
-            clip.start();
-        } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-            e.printStackTrace();
-        }
-    }
-
     /**
      * Reads all bytes from the given InputStream into a byte array.
      *
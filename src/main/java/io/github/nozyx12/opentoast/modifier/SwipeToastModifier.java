@@ -1,113 +1,89 @@
 package io.github.nozyx12.opentoast.modifier;
 
-import javax.swing.*;
+import io.github.nozyx12.opentoast.ToastSurface;
+
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 /**
  * A ToastModifier implementation that animates toast notifications with a swipe effect.
- * The notification swipes in from the right when displayed and swipes out to the right when closed.
+ * The notification swipes in from the nearest vertical edge of its screen when displayed, and swipes out to that edge when closed.
  */
-public class SwipeToastModifier implements ToastModifier {
+public class SwipeToastModifier implements AnimatedToastModifier {
     private final int swipeSpeed;
+    private final Easing easing;
 
     /**
-     * Constructs a SwipeToastModifier with a specified swipe speed.
+     * Constructs a SwipeToastModifier with a specified swipe speed and easing.
      *
      * @param swipeSpeed The speed of the swipe animation in milliseconds.
+     * @param easing     The timing function of the swipe animation.
      */
-    public SwipeToastModifier(int swipeSpeed) {
+    public SwipeToastModifier(int swipeSpeed, Easing easing) {
         this.swipeSpeed = swipeSpeed;
+        this.easing = easing != null ? easing : Easing.LINEAR;
     }
 
     /**
-     * Constructs a SwipeToastModifier with a default swipe speed of 200 milliseconds.
+     * Constructs a SwipeToastModifier with a specified swipe speed and a linear easing.
+     *
+     * @param swipeSpeed The speed of the swipe animation in milliseconds.
      */
-    public SwipeToastModifier() {
-        this(200);
+    public SwipeToastModifier(int swipeSpeed) {
+        this(swipeSpeed, Easing.LINEAR);
     }
 
     /**
-     * Called when the toast notification is displayed.
-     * This method triggers the swipe-in animation.
-     *
-     * @param panel The JPanel representing the content of the toast notification.
+     * Constructs a SwipeToastModifier with a default swipe speed of 200 milliseconds.
      */
-    @Override
-    public void onDisplay(JPanel panel) {
-        JDialog dialog = (JDialog) SwingUtilities.getWindowAncestor(panel);
-        this.animateSwipeIn(dialog);
+    public SwipeToastModifier() {
+        this(200);
     }
 
     /**
-     * Called when the toast notification is closing.
-     * This method triggers the swipe-out animation.
+     * Returns the duration of the swipe, identical for both phases.
      *
-     * @param panel The JPanel representing the content of the toast notification.
+     * @param phase The phase of the notification.
+     * @return The speed of the swipe animation in milliseconds.
      */
     @Override
-    public void onClose(JPanel panel) {
-        JDialog dialog = (JDialog) SwingUtilities.getWindowAncestor(panel);
-        this.animateSwipeOut(dialog);
+    public int getDuration(AnimationPhase phase) {
+        return this.swipeSpeed;
     }
 
     /**
-     * Animates the swipe-in effect for the toast notification.
+     * Returns the timing function of the swipe animation.
      *
-     * @param dialog The JDialog representing the toast notification.
+     * @return The easing of the swipe.
      */
-    private void animateSwipeIn(JDialog dialog) {
-        Rectangle screenBounds = dialog.getGraphicsConfiguration().getBounds();
-        int startX = screenBounds.width;
-        int endX = dialog.getX();
-        int startY = dialog.getY();
-
-        Timer timer = new Timer(10, new ActionListener() {
-            long startTime = System.currentTimeMillis();
-
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                long elapsedTime = System.currentTimeMillis() - startTime;
-                float progress = Math.min(1f, (float) elapsedTime / SwipeToastModifier.this.swipeSpeed);
-
-                int currentX = startX - (int) ((startX - endX) * progress);
-                dialog.setLocation(currentX, startY);
-
-                if (progress >= 1f) ((Timer) e.getSource()).stop();
-            }
-        });
-
-        timer.start();
+    @Override
+    public Easing getEasing() {
+        return this.easing;
     }
 
     /**
-     * Animates the swipe-out effect for the toast notification.
+     * Starts the swipe-in animation when displayed, or the swipe-out animation when closing.
+     * The surface is never disposed here: it belongs to the notification, which releases it once every animation has finished.
      *
-     * @param dialog The JDialog representing the toast notification.
+     * @param surface The surface of the notification.
+     * @param phase   The phase being animated.
+     * @return The swipe animation of the notification.
      */
-    private void animateSwipeOut(JDialog dialog) {
-        Rectangle screenBounds = dialog.getGraphicsConfiguration().getBounds();
-        int startX = dialog.getX();
-        int endX = screenBounds.width;
-        int startY = dialog.getY();
-
-        new Timer(10, new ActionListener() {
-            long startTime = System.currentTimeMillis();
-
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                long elapsedTime = System.currentTimeMillis() - startTime;
-                float progress = Math.min(1f, (float) elapsedTime / SwipeToastModifier.this.swipeSpeed);
-
-                int currentX = startX + (int) ((endX - startX) * progress);
-                dialog.setLocation(currentX, startY);
-
-                if (progress >= 1f) {
-                    ((Timer) e.getSource()).stop();
-                    dialog.dispose();
-                }
-            }
-        }).start();
+    @Override
+    public Animation animate(ToastSurface surface, AnimationPhase phase) {
+        Rectangle screenBounds = surface.getGraphicsConfiguration().getBounds();
+        Rectangle bounds = surface.getBounds();
+        int restingX = bounds.x;
+        boolean rightEdge = bounds.getCenterX() >= screenBounds.getCenterX();
+        int outsideX = rightEdge ? screenBounds.x + screenBounds.width : screenBounds.x - bounds.width;
+
+        int startX = phase == AnimationPhase.DISPLAY ? outsideX : restingX;
+        int endX = phase == AnimationPhase.DISPLAY ? restingX : outsideX;
+
+        if (phase == AnimationPhase.DISPLAY) surface.setLocation(startX, surface.getBounds().y);
+
+        return (progress, elapsedMillis) -> {
+            int currentX = startX + Math.round((endX - startX) * progress);
+            surface.setLocation(currentX, surface.getBounds().y);
+        };
     }
 }
@@ -0,0 +1,328 @@
+package io.github.nozyx12.opentoast.modifier;
+
+import io.github.nozyx12.opentoast.render.LruCache;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays notification sounds on a dedicated audio thread, away from the Event Dispatch Thread.
+ * Sound files are decoded once to PCM and shared by every modifier playing the same data.
+ * Playback goes through a small pool of pre-opened clips, and the number of sounds playing at once is capped:
+ * a sound requested while every voice is busy is dropped instead of opening another audio line.
+ */
+public final class ToastSoundPlayer {
+    private static final ToastSoundPlayer INSTANCE = new ToastSoundPlayer(4);
+
+    private final ExecutorService executor;
+    private final LruCache<Sound, DecodedSound> sounds = new LruCache<>(16);
+    private final List<Voice> voices = new ArrayList<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile int maxVoices;
+
+    /**
+     * Constructs a new ToastSoundPlayer.
+     *
+     * @param maxVoices The maximum number of sounds playing at once.
+     */
+    public ToastSoundPlayer(int maxVoices) {
+        this.setMaxVoices(maxVoices);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OpenToast Audio");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the player shared by all sound modifiers.
+     *
+     * @return The shared ToastSoundPlayer instance.
+     */
+    public static ToastSoundPlayer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the maximum number of sounds playing at once. Extra open clips are closed once idle.
+     *
+     * @param maxVoices The maximum number of voices.
+     */
+    public void setMaxVoices(int maxVoices) {
+        if (maxVoices <= 0) throw new IllegalArgumentException("Max voices must be positive");
+        this.maxVoices = maxVoices;
+    }
+
+    /**
+     * Returns the maximum number of sounds playing at once.
+     *
+     * @return The maximum number of voices.
+     */
+    public int getMaxVoices() {
+        return this.maxVoices;
+    }
+
+    /**
+     * Returns how many sounds were not played because every voice was busy.
+     *
+     * @return The number of dropped sounds.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Returns the cache of decoded sounds, to inspect its statistics.
+     *
+     * @return The decoded sound cache.
+     */
+    public LruCache<?, ?> getDecodedSounds() {
+        return this.sounds;
+    }
+
+    /**
+     * Registers the content of a sound file for playback.
+     * The sound is decoded and a clip is opened for it in the background, so that its first playback starts immediately.
+     *
+     * @param soundData The content of the sound file.
+     * @return The handle to pass to {@link #play(Sound)}.
+     */
+    public Sound load(byte[] soundData) {
+        Sound key = new Sound(soundData);
+
+        this.executor.execute(() -> {
+            try {
+                DecodedSound sound = this.decode(key);
+                if (this.findVoice(sound) == null && this.voices.size() < this.maxVoices) this.voices.add(new Voice(sound));
+            } catch (IOException | LineUnavailableException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        });
+
+        return key;
+    }
+
+    /**
+     * Plays a sound in the background. This method returns immediately.
+     *
+     * @param key The sound returned by {@link #load(byte[])}.
+     */
+    public void play(Sound key) {
+        this.executor.execute(() -> {
+            try {
+                Voice voice = this.acquire(this.decode(key));
+
+                if (voice != null) voice.start();
+                else this.droppedCount.incrementAndGet();
+            } catch (IOException | LineUnavailableException | UnsupportedAudioFileException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Returns the decoded form of a sound, decoding it if it is not cached.
+     *
+     * @param key The content of the sound file.
+     * @return The decoded sound.
+     */
+    private DecodedSound decode(Sound key) throws IOException, UnsupportedAudioFileException {
+        try {
+            return this.sounds.get(key, k -> {
+                try {
+                    return DecodedSound.decode(k.data);
+                } catch (IOException | UnsupportedAudioFileException e) {
+                    throw new DecodingException(e);
+                }
+            });
+        } catch (DecodingException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw (UnsupportedAudioFileException) e.getCause();
+        }
+    }
+
+    /**
+     * Finds a voice for a sound: an idle clip already loaded with it, a new clip if the voice limit allows it,
+     * or an idle clip loaded with another sound. Must be called on the audio thread.
+     *
+     * @param sound The sound to play.
+     * @return The voice to play the sound with, or null if every voice is busy.
+     */
+    private Voice acquire(DecodedSound sound) throws LineUnavailableException {
+        Voice idle = null;
+
+        for (int i = this.voices.size() - 1; i >= 0; i--) {
+            Voice voice = this.voices.get(i);
+            if (voice.playing) continue;
+
+            if (this.voices.size() > this.maxVoices) {
+                voice.clip.close();
+                this.voices.remove(i);
+            } else if (voice.sound == sound) {
+                return voice;
+            } else {
+                idle = voice;
+            }
+        }
+
+        if (this.voices.size() < this.maxVoices) {
+            Voice voice = new Voice(sound);
+            this.voices.add(voice);
+            return voice;
+        }
+
+        if (idle != null) idle.load(sound);
+        return idle;
+    }
+
+    /**
+     * Finds an open clip loaded with a sound. Must be called on the audio thread.
+     *
+     * @param sound The sound.
+     * @return A voice loaded with the sound, or null if there is none.
+     */
+    private Voice findVoice(DecodedSound sound) {
+        for (Voice voice : this.voices) {
+            if (voice.sound == sound) return voice;
+        }
+
+        return null;
+    }
+
+    /**
+     * A sound decoded to PCM, ready to be loaded into a clip.
+     */
+    static final class DecodedSound {
+        private final AudioFormat format;
+        private final byte[] samples;
+
+        private DecodedSound(AudioFormat format, byte[] samples) {
+            this.format = format;
+            this.samples = samples;
+        }
+
+        /**
+         * Returns the PCM format of the samples.
+         *
+         * @return The audio format.
+         */
+        AudioFormat getFormat() {
+            return this.format;
+        }
+
+        /**
+         * Returns the decoded samples.
+         *
+         * @return The PCM samples.
+         */
+        byte[] getSamples() {
+            return this.samples;
+        }
+
+        /**
+         * Decodes a sound file to 16-bit signed PCM.
+         *
+         * @param soundData The content of the sound file.
+         * @return The decoded sound.
+         */
+        static DecodedSound decode(byte[] soundData) throws IOException, UnsupportedAudioFileException {
+            try (AudioInputStream source = AudioSystem.getAudioInputStream(new ByteArrayInputStream(soundData))) {
+                AudioFormat sourceFormat = source.getFormat();
+                AudioFormat targetFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(), 16,
+                        sourceFormat.getChannels(), sourceFormat.getChannels() * 2, sourceFormat.getSampleRate(), false);
+
+                try (AudioInputStream pcm = sourceFormat.matches(targetFormat) ? source : AudioSystem.getAudioInputStream(targetFormat, source)) {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    byte[] data = new byte[4096];
+                    int bytesRead;
+
+                    while ((bytesRead = pcm.read(data, 0, data.length)) != -1) buffer.write(data, 0, bytesRead);
+
+                    return new DecodedSound(targetFormat, buffer.toByteArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * An open clip, reused for as long as it stays in the pool.
+     */
+    private static final class Voice {
+        private final Clip clip;
+        private DecodedSound sound;
+        private volatile boolean playing;
+
+        private Voice(DecodedSound sound) throws LineUnavailableException {
+            this.clip = AudioSystem.getClip();
+            this.clip.addLineListener(event -> {
+                if (event.getType() == LineEvent.Type.STOP) this.playing = false;
+            });
+            this.load(sound);
+        }
+
+        /**
+         * Loads a sound into the clip, replacing the previous one.
+         *
+         * @param sound The sound to load.
+         */
+        private void load(DecodedSound sound) throws LineUnavailableException {
+            if (this.clip.isOpen()) this.clip.close();
+
+            this.clip.open(sound.format, sound.samples, 0, sound.samples.length);
+            this.sound = sound;
+        }
+
+        /**
+         * Plays the loaded sound from its beginning.
+         */
+        private void start() {
+            this.playing = true;
+            this.clip.setFramePosition(0);
+            this.clip.start();
+        }
+    }
+
+    /**
+     * A sound registered for playback. Sounds with the same file content share their decoded form.
+     */
+    public static final class Sound {
+        private final byte[] data;
+        private final int hash;
+
+        private Sound(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Sound)) return false;
+
+            Sound key = (Sound) o;
+            return this.hash == key.hash && Arrays.equals(this.data, key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Carries a checked decoding error out of the cache factory.
+     */
+    private static final class DecodingException extends RuntimeException {
+        private DecodingException(Exception cause) {
+            super(cause);
+        }
+    }
+}
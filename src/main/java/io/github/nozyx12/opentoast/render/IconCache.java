@@ -0,0 +1,183 @@
+package io.github.nozyx12.opentoast.render;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.util.Objects;
+
+/**
+ * A shared cache of icons converted into display-compatible images at their target size and display scale.
+ * Each icon is scaled once, then painted with a plain blit, instead of being rescaled on every paint.
+ * Image icons are identified by their image, so icons created from the same URL share a single cached entry.
+ * Screens with the same scale and color model share the same images.
+ * The cache is thread-safe and can be used for offscreen rendering.
+ */
+public final class IconCache {
+    private static final IconCache INSTANCE = new IconCache(64);
+    // Look and feel icons read their colors and font from the component they are painted for, and fail without one.
+    private static final Component PAINT_COMPONENT = new JLabel();
+
+    private final LruCache<Key, Icon> icons;
+
+    /**
+     * Constructs a new IconCache.
+     *
+     * @param capacity The maximum number of scaled icons kept in the cache.
+     */
+    public IconCache(int capacity) {
+        this.icons = new LruCache<>(capacity);
+    }
+
+    /**
+     * Returns the cache shared by all toast notifications.
+     *
+     * @return The shared IconCache instance.
+     */
+    public static IconCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns an icon scaled to fit the specified size, backed by an image compatible with the specified configuration.
+     *
+     * @param icon   The icon to scale.
+     * @param size   The size of the square the icon must fit in, keeping its aspect ratio, or 0 to keep its size.
+     * @param config The graphics configuration of the screen the icon is displayed on. Can be null for an offscreen image.
+     * @return The cached icon, or the icon itself if it has no size.
+     */
+    public Icon getIcon(Icon icon, int size, GraphicsConfiguration config) {
+        if (icon == null || icon.getIconWidth() <= 0 || icon.getIconHeight() <= 0) return icon;
+
+        double scale = config != null ? Math.max(1d, config.getDefaultTransform().getScaleX()) : 1d;
+        ColorModel colorModel = config != null ? config.getColorModel(Transparency.TRANSLUCENT) : null;
+        Object source = icon instanceof ImageIcon && ((ImageIcon) icon).getImage() != null ? ((ImageIcon) icon).getImage() : icon;
+
+        return this.icons.get(new Key(source, size, scale, colorModel), key -> render(icon, size, scale, config));
+    }
+
+    /**
+     * Returns the cache holding the scaled icons, to inspect its statistics.
+     *
+     * @return The underlying cache.
+     */
+    public LruCache<?, ?> getIcons() {
+        return this.icons;
+    }
+
+    /**
+     * Renders an icon into a new image at its target size.
+     *
+     * @param icon   The icon to render.
+     * @param size   The size of the square the icon must fit in, or 0 to keep its size.
+     * @param scale  The display scale.
+     * @param config The graphics configuration of the screen, or null.
+     * @return The scaled icon.
+     */
+    private static Icon render(Icon icon, int size, double scale, GraphicsConfiguration config) {
+        int sourceWidth = icon.getIconWidth();
+        int sourceHeight = icon.getIconHeight();
+        double fit = size > 0 ? Math.min((double) size / sourceWidth, (double) size / sourceHeight) : 1d;
+
+        int width = Math.max(1, (int) Math.round(sourceWidth * fit));
+        int height = Math.max(1, (int) Math.round(sourceHeight * fit));
+        int imageWidth = (int) Math.ceil(width * scale);
+        int imageHeight = (int) Math.ceil(height * scale);
+
+        BufferedImage source = new BufferedImage(sourceWidth, sourceHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = source.createGraphics();
+        icon.paintIcon(PAINT_COMPONENT, g, 0, 0);
+        g.dispose();
+
+        // Halve the image until it is close to its target size, since a single bilinear step loses detail when shrinking a lot.
+        while (source.getWidth() / 2 >= imageWidth && source.getHeight() / 2 >= imageHeight) {
+            source = resize(source, source.getWidth() / 2, source.getHeight() / 2, null);
+        }
+
+        return new ScaledIcon(resize(source, imageWidth, imageHeight, config), width, height);
+    }
+
+    /**
+     * Draws an image into a new translucent image of another size with bilinear interpolation.
+     *
+     * @param source The image to resize.
+     * @param width  The width of the new image.
+     * @param height The height of the new image.
+     * @param config The graphics configuration the new image must be compatible with, or null.
+     * @return The resized image.
+     */
+    private static BufferedImage resize(BufferedImage source, int width, int height, GraphicsConfiguration config) {
+        BufferedImage image = config != null ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+
+        return image;
+    }
+
+    /**
+     * An icon painting a pre-scaled image. The image holds one pixel per device pixel,
+     * so it is blitted without resampling on screens whose scale matches the one it was rendered for.
+     */
+    private static final class ScaledIcon implements Icon {
+        private final BufferedImage image;
+        private final int width;
+        private final int height;
+
+        private ScaledIcon(BufferedImage image, int width, int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.drawImage(this.image, x, y, this.width, this.height, null);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return this.width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return this.height;
+        }
+    }
+
+    /**
+     * The properties defining a scaled icon. Sources are compared by identity, color models by value.
+     */
+    private static final class Key {
+        private final Object source;
+        private final int size;
+        private final double scale;
+        private final ColorModel colorModel;
+
+        private Key(Object source, int size, double scale, ColorModel colorModel) {
+            this.source = source;
+            this.size = size;
+            this.scale = scale;
+            this.colorModel = colorModel;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return this.source == key.source && this.size == key.size && Double.compare(this.scale, key.scale) == 0 && Objects.equals(this.colorModel, key.colorModel);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * System.identityHashCode(this.source) + this.size) + Double.hashCode(this.scale)) + Objects.hashCode(this.colorModel);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.nozyx12.opentoast.render;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache keeping a bounded number of entries, evicting the least recently used ones first.
+ * Values are computed outside of the cache lock, so two threads missing the same key at the same time may both compute it.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final int capacity;
+
+    /**
+     * Constructs a new LruCache.
+     *
+     * @param capacity The maximum number of entries kept in the cache.
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return this.size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for a key, computing and caching it if it is missing.
+     *
+     * @param key     The key of the value.
+     * @param factory The function computing the value of a missing key. Must not return null.
+     * @return The cached or computed value.
+     */
+    public V get(K key, Function<? super K, ? extends V> factory) {
+        synchronized (this.entries) {
+            V value = this.entries.get(key);
+
+            if (value != null) {
+                this.hits.incrementAndGet();
+                return value;
+            }
+        }
+
+        this.misses.incrementAndGet();
+        V value = factory.apply(key);
+
+        synchronized (this.entries) {
+            this.entries.put(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return The size of the cache.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Returns the maximum number of entries kept in the cache.
+     *
+     * @return The capacity of the cache.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns how many lookups found their value in the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns how many lookups had to compute their value.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+}
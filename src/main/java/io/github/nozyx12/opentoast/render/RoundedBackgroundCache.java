@@ -0,0 +1,127 @@
+package io.github.nozyx12.opentoast.render;
+
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+/**
+ * A shared cache of the antialiased rounded backgrounds of toast notifications.
+ * Backgrounds are rendered once per style, size and display scale, then blitted on every paint.
+ * The cache is thread-safe and can be used for offscreen rendering.
+ */
+public final class RoundedBackgroundCache {
+    private static final RoundedBackgroundCache INSTANCE = new RoundedBackgroundCache(64);
+
+    private final LruCache<Key, BufferedImage> images;
+
+    /**
+     * Constructs a new RoundedBackgroundCache.
+     *
+     * @param capacity The maximum number of backgrounds kept in the cache.
+     */
+    public RoundedBackgroundCache(int capacity) {
+        this.images = new LruCache<>(capacity);
+    }
+
+    /**
+     * Returns the cache shared by all toast notifications.
+     *
+     * @return The shared RoundedBackgroundCache instance.
+     */
+    public static RoundedBackgroundCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Paints the rounded background of a notification.
+     *
+     * @param g      The graphics context to paint into.
+     * @param style  The style of the notification.
+     * @param width  The width of the notification, in user space.
+     * @param height The height of the notification, in user space.
+     */
+    public void paint(Graphics2D g, ToastStyle style, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+
+        double scale = getScale(g);
+        BufferedImage image = this.images.get(new Key(style.getBackgroundColor(), style.getCornerRadius(), width, height, scale), RoundedBackgroundCache::render);
+
+        g.drawImage(image, 0, 0, width, height, null);
+    }
+
+    /**
+     * Returns the cache holding the rendered backgrounds, to inspect its statistics.
+     *
+     * @return The underlying cache.
+     */
+    public LruCache<?, ?> getImages() {
+        return this.images;
+    }
+
+    /**
+     * Returns the scale applied by a graphics context, such as the scale of a HiDPI screen.
+     *
+     * @param g The graphics context.
+     * @return The horizontal scale of the context transform, at least 1.
+     */
+    public static double getScale(Graphics2D g) {
+        return Math.max(1d, g.getTransform().getScaleX());
+    }
+
+    /**
+     * Renders a background into a new translucent image.
+     *
+     * @param key The description of the background.
+     * @return The rendered background.
+     */
+    private static BufferedImage render(Key key) {
+        int width = (int) Math.ceil(key.width * key.scale);
+        int height = (int) Math.ceil(key.height * key.scale);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.scale(key.scale, key.scale);
+        g.setColor(key.color);
+        g.fillRoundRect(0, 0, key.width - 1, key.height - 1, key.cornerRadius, key.cornerRadius);
+        g.dispose();
+
+        return image;
+    }
+
+    /**
+     * The properties defining a rendered background.
+     */
+    private static final class Key {
+        private final Color color;
+        private final int cornerRadius;
+        private final int width;
+        private final int height;
+        private final double scale;
+
+        private Key(Color color, int cornerRadius, int width, int height, double scale) {
+            this.color = color;
+            this.cornerRadius = cornerRadius;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return this.cornerRadius == key.cornerRadius && this.width == key.width && this.height == key.height
+                    && Double.compare(this.scale, key.scale) == 0 && this.color.equals(key.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.color, this.cornerRadius, this.width, this.height, this.scale);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.nozyx12.opentoast.render;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.Objects;
+
+/**
+ * A shared cache of wrapped and measured message texts.
+ * Breaking a text into lines is done once per font, text and maximum width, so repeated or similar notifications
+ * skip the layout work entirely. Texts are measured with antialiasing and fractional metrics, see {@link #RENDER_CONTEXT}.
+ * The cache is thread-safe and can be used for offscreen rendering.
+ */
+public final class TextLayoutCache {
+    /**
+     * The font render context used to measure cached texts. Graphics contexts drawing them should enable
+     * text antialiasing and fractional metrics to match it.
+     */
+    public static final FontRenderContext RENDER_CONTEXT = new FontRenderContext(null, true, true);
+
+    private static final TextLayoutCache INSTANCE = new TextLayoutCache(256);
+
+    private final LruCache<Key, WrappedText> layouts;
+
+    /**
+     * Constructs a new TextLayoutCache.
+     *
+     * @param capacity The maximum number of texts kept in the cache.
+     */
+    public TextLayoutCache(int capacity) {
+        this.layouts = new LruCache<>(capacity);
+    }
+
+    /**
+     * Returns the cache shared by all toast notifications.
+     *
+     * @return The shared TextLayoutCache instance.
+     */
+    public static TextLayoutCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a text broken into lines that fit the specified width.
+     *
+     * @param font     The font of the text.
+     * @param text     The text to break.
+     * @param maxWidth The maximum width of a line, or 0 to only break at line feeds.
+     * @return The measured text.
+     */
+    public WrappedText wrap(Font font, String text, int maxWidth) {
+        return this.layouts.get(new Key(font, text, Math.max(0, maxWidth)), key -> WrappedText.wrap(key.font, key.text, key.maxWidth, RENDER_CONTEXT));
+    }
+
+    /**
+     * Returns the cache holding the measured texts, to inspect its statistics.
+     *
+     * @return The underlying cache.
+     */
+    public LruCache<?, ?> getLayouts() {
+        return this.layouts;
+    }
+
+    /**
+     * Enables the rendering hints matching {@link #RENDER_CONTEXT} on a graphics context.
+     *
+     * @param g The graphics context that will draw cached texts.
+     */
+    public static void applyRenderingHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    /**
+     * The properties defining a measured text.
+     */
+    private static final class Key {
+        private final Font font;
+        private final String text;
+        private final int maxWidth;
+
+        private Key(Font font, String text, int maxWidth) {
+            this.font = font;
+            this.text = text;
+            this.maxWidth = maxWidth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return this.maxWidth == key.maxWidth && this.font.equals(key.font) && this.text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.font, this.text, this.maxWidth);
+        }
+    }
+}
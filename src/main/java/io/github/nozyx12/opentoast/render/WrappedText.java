@@ -0,0 +1,122 @@
+package io.github.nozyx12.opentoast.render;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.LineMetrics;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A text broken into lines that fit a maximum width, measured once and drawn any number of times.
+ * Instances are immutable and can be shared between threads and notifications.
+ */
+public final class WrappedText {
+    private final TextLayout[] lines;
+    private final float[] baselines;
+    private final float width;
+    private final float height;
+
+    /**
+     * Constructs a new WrappedText.
+     *
+     * @param lines     The layouts of the lines, or null entries for blank lines.
+     * @param baselines The baseline of each line, relative to the top of the text.
+     * @param width     The width of the longest line.
+     * @param height    The total height of the text.
+     */
+    private WrappedText(TextLayout[] lines, float[] baselines, float width, float height) {
+        this.lines = lines;
+        this.baselines = baselines;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Breaks a text into lines. Line feeds in the text always start a new line.
+     *
+     * @param font     The font of the text.
+     * @param text     The text to break.
+     * @param maxWidth The maximum width of a line, or 0 to only break at line feeds.
+     * @param context  The font render context used to measure the text.
+     * @return The measured text.
+     */
+    public static WrappedText wrap(Font font, String text, int maxWidth, FontRenderContext context) {
+        float wrappingWidth = maxWidth > 0 ? maxWidth : Float.MAX_VALUE;
+        List<TextLayout> lines = new ArrayList<>();
+        List<Float> baselines = new ArrayList<>();
+        float width = 0f;
+        float y = 0f;
+
+        for (String paragraph : text.split("\n", -1)) {
+            if (paragraph.isEmpty()) {
+                LineMetrics metrics = font.getLineMetrics(" ", context);
+                lines.add(null);
+                baselines.add(y + metrics.getAscent());
+                y += metrics.getHeight();
+                continue;
+            }
+
+            AttributedString attributed = new AttributedString(paragraph);
+            attributed.addAttribute(TextAttribute.FONT, font);
+            LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), context);
+
+            while (measurer.getPosition() < paragraph.length()) {
+                TextLayout line = measurer.nextLayout(wrappingWidth);
+                lines.add(line);
+                baselines.add(y + line.getAscent());
+
+                width = Math.max(width, line.getVisibleAdvance());
+                y += line.getAscent() + line.getDescent() + line.getLeading();
+            }
+        }
+
+        float[] baselineArray = new float[baselines.size()];
+        for (int i = 0; i < baselineArray.length; i++) baselineArray[i] = baselines.get(i);
+
+        return new WrappedText(lines.toArray(new TextLayout[0]), baselineArray, width, y);
+    }
+
+    /**
+     * Draws the text with the current color of the graphics context.
+     *
+     * @param g The graphics context to draw into.
+     * @param x The x coordinate of the left edge of the text.
+     * @param y The y coordinate of the top edge of the text.
+     */
+    public void draw(Graphics2D g, float x, float y) {
+        for (int i = 0; i < this.lines.length; i++) {
+            if (this.lines[i] != null) this.lines[i].draw(g, x, y + this.baselines[i]);
+        }
+    }
+
+    /**
+     * Returns the width of the longest line.
+     *
+     * @return The width of the text, rounded up.
+     */
+    public int getWidth() {
+        return (int) Math.ceil(this.width);
+    }
+
+    /**
+     * Returns the total height of the lines.
+     *
+     * @return The height of the text, rounded up.
+     */
+    public int getHeight() {
+        return (int) Math.ceil(this.height);
+    }
+
+    /**
+     * Returns the number of lines the text was broken into.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return this.lines.length;
+    }
+}
@@ -13,6 +13,8 @@ public class ToastStyle {
     private final Font titleFont;
     private final Font messageFont;
     private final int cornerRadius;
+    private final int maxMessageWidth;
+    private final int iconSize;
 
     /**
      * Constructs a new ToastStyle with the specified parameters.
@@ -25,12 +27,45 @@ public class ToastStyle {
      * @param cornerRadius    The radius of the corners of the notification.
      */
     public ToastStyle(Color backgroundColor, Color textColor, Color titleColor, Font titleFont, Font messageFont, int cornerRadius) {
+        this(backgroundColor, textColor, titleColor, titleFont, messageFont, cornerRadius, 320);
+    }
+
+    /**
+     * Constructs a new ToastStyle with the specified parameters and maximum message width, keeping icons at their own size.
+     *
+     * @param backgroundColor The background color of the notification.
+     * @param textColor       The color of the text in the notification.
+     * @param titleColor      The color of the title text in the notification.
+     * @param titleFont       The font used for the title text.
+     * @param messageFont     The font used for the message text.
+     * @param cornerRadius    The radius of the corners of the notification.
+     * @param maxMessageWidth The width beyond which plain text messages wrap onto several lines, or 0 to never wrap them.
+     */
+    public ToastStyle(Color backgroundColor, Color textColor, Color titleColor, Font titleFont, Font messageFont, int cornerRadius, int maxMessageWidth) {
+        this(backgroundColor, textColor, titleColor, titleFont, messageFont, cornerRadius, maxMessageWidth, 0);
+    }
+
+    /**
+     * Constructs a new ToastStyle with the specified parameters, maximum message width and icon size.
+     *
+     * @param backgroundColor The background color of the notification.
+     * @param textColor       The color of the text in the notification.
+     * @param titleColor      The color of the title text in the notification.
+     * @param titleFont       The font used for the title text.
+     * @param messageFont     The font used for the message text.
+     * @param cornerRadius    The radius of the corners of the notification.
+     * @param maxMessageWidth The width beyond which plain text messages wrap onto several lines, or 0 to never wrap them.
+     * @param iconSize        The size of the square icons are scaled to fit in, or 0 to keep icons at their own size.
+     */
+    public ToastStyle(Color backgroundColor, Color textColor, Color titleColor, Font titleFont, Font messageFont, int cornerRadius, int maxMessageWidth, int iconSize) {
         this.backgroundColor = backgroundColor;
         this.textColor = textColor;
         this.titleColor = titleColor;
         this.titleFont = titleFont;
         this.messageFont = messageFont;
         this.cornerRadius = cornerRadius;
+        this.maxMessageWidth = maxMessageWidth;
+        this.iconSize = iconSize;
     }
 
     /**
@@ -86,4 +121,22 @@ public class ToastStyle {
     public int getCornerRadius() {
         return this.cornerRadius;
     }
+
+    /**
+     * Returns the width beyond which plain text messages wrap onto several lines.
+     *
+     * @return The maximum message width in pixels, or 0 if messages never wrap.
+     */
+    public int getMaxMessageWidth() {
+        return this.maxMessageWidth;
+    }
+
+    /**
+     * Returns the size of the square icons are scaled to fit in.
+     *
+     * @return The icon size in pixels, or 0 if icons keep their own size.
+     */
+    public int getIconSize() {
+        return this.iconSize;
+    }
 }
@@ -0,0 +1,63 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.metrics.LatencyHistogram;
+
+import java.awt.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the Event Dispatch Thread takes to run a marker event,
+ * by posting one at a fixed interval and recording the time between its posting and its execution.
+ */
+final class EdtLatencyProbe {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ScheduledExecutorService executor;
+    private final long intervalMillis;
+
+    /**
+     * Constructs a new EdtLatencyProbe.
+     *
+     * @param intervalMillis The delay in milliseconds between two marker events.
+     */
+    EdtLatencyProbe(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "OpenToast EDT Latency Probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts posting marker events.
+     */
+    void start() {
+        this.executor.scheduleAtFixedRate(this::post, 0L, this.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops posting marker events.
+     */
+    void stop() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Returns the latencies recorded so far.
+     *
+     * @return The histogram of the delays between the posting and the execution of the marker events.
+     */
+    LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Posts one marker event to the Event Dispatch Thread.
+     */
+    private void post() {
+        long posted = System.nanoTime();
+        EventQueue.invokeLater(() -> this.latency.record(System.nanoTime() - posted));
+    }
+}
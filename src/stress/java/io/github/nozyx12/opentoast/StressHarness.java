@@ -0,0 +1,326 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.animation.AnimationScheduler;
+import io.github.nozyx12.opentoast.metrics.LatencyHistogram;
+import io.github.nozyx12.opentoast.metrics.SimpleToastMetrics;
+import io.github.nozyx12.opentoast.metrics.ToastRecorder;
+import io.github.nozyx12.opentoast.modifier.SoundToastModifier;
+import io.github.nozyx12.opentoast.modifier.SwipeToastModifier;
+import io.github.nozyx12.opentoast.modifier.ToastModifier;
+import io.github.nozyx12.opentoast.style.DarkToastStyle;
+import io.github.nozyx12.opentoast.style.LightToastStyle;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A soak and stress harness firing toast notifications from many producer threads at a sustained rate.
+ * While it runs, it samples the latency of the Event Dispatch Thread, the number of live windows and scheduled animations,
+ * the heap usage and the number of notifications dropped with a {@link ToastStackOverflowException}.
+ * Once the producers stop and every notification has closed, the measures are checked against thresholds,
+ * and the process exits with a non-zero status if any of them is exceeded.
+ * <p>
+ * Requires a display; on a CI server run it under a virtual X server with {@code xvfb-run -a gradle stress}.
+ * Options are passed as {@code --name=value} arguments, for example {@code -PstressArgs="--duration=3600 --producers=16"}.
+ */
+public final class StressHarness {
+    private static final String[] OPTIONS = {
+            "producers", "rate", "duration", "sampleInterval", "drainTimeout", "soundRatio", "swipeRatio",
+            "maxEdtLatencyP99", "maxEdtLatency", "maxLiveWindows", "maxHeapGrowth", "maxOverflows"
+    };
+
+    private final int producers;
+    private final double rate;
+    private final long duration;
+    private final long sampleInterval;
+    private final long drainTimeout;
+    private final double soundRatio;
+    private final double swipeRatio;
+    private final long maxEdtLatencyP99;
+    private final long maxEdtLatency;
+    private final int maxLiveWindows;
+    private final long maxHeapGrowth;
+    private final long maxOverflows;
+
+    private final SimpleToastMetrics metrics = new SimpleToastMetrics();
+    private final EdtLatencyProbe probe = new EdtLatencyProbe(10L);
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final List<String> violations = new ArrayList<>();
+    private final List<ToastStyle> styles;
+    private final byte[] sound;
+    private int peakLiveWindows;
+
+    /**
+     * Constructs a new StressHarness.
+     *
+     * @param options The options of the run, by name. Missing options take their default value.
+     */
+    public StressHarness(Map<String, String> options) {
+        this.producers = Integer.parseInt(options.getOrDefault("producers", "8"));
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "2"));
+        this.duration = Long.parseLong(options.getOrDefault("duration", "300"));
+        this.sampleInterval = Long.parseLong(options.getOrDefault("sampleInterval", "10"));
+        this.drainTimeout = Long.parseLong(options.getOrDefault("drainTimeout", "60"));
+        this.soundRatio = Double.parseDouble(options.getOrDefault("soundRatio", "0.25"));
+        this.swipeRatio = Double.parseDouble(options.getOrDefault("swipeRatio", "0.5"));
+        this.maxEdtLatencyP99 = Long.parseLong(options.getOrDefault("maxEdtLatencyP99", "100"));
+        this.maxEdtLatency = Long.parseLong(options.getOrDefault("maxEdtLatency", "1000"));
+        this.maxLiveWindows = Integer.parseInt(options.getOrDefault("maxLiveWindows", "64"));
+        this.maxHeapGrowth = Long.parseLong(options.getOrDefault("maxHeapGrowth", "32"));
+        this.maxOverflows = Long.parseLong(options.getOrDefault("maxOverflows", "-1"));
+
+        if (this.producers <= 0 || this.rate <= 0) throw new IllegalArgumentException("The number of producers and their rate must be positive");
+
+        Font titleFont = new Font("Dialog", Font.BOLD, 14);
+        Font messageFont = new Font("Dialog", Font.PLAIN, 12);
+        this.styles = Arrays.asList(new DarkToastStyle(titleFont, messageFont, 20), new LightToastStyle(titleFont, messageFont, 20));
+        this.sound = createBeep();
+    }
+
+    /**
+     * Runs the harness with the options passed on the command line, and exits with status 1 if a threshold is exceeded.
+     *
+     * @param args The options of the run, as {@code --name=value} arguments.
+     * @throws Exception If the harness is interrupted or the Event Dispatch Thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) throw new IllegalArgumentException("Expected --name=value but got " + arg);
+
+            String name = arg.substring(2, separator);
+            if (!Arrays.asList(OPTIONS).contains(name)) throw new IllegalArgumentException("Unknown option " + name + ", expected one of " + Arrays.toString(OPTIONS));
+            options.put(name, arg.substring(separator + 1));
+        }
+
+        boolean passed = new StressHarness(options).run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Fires notifications for the configured duration, waits for all of them to close and checks the thresholds.
+     *
+     * @return True if no threshold was exceeded.
+     * @throws Exception If the harness is interrupted or the Event Dispatch Thread fails.
+     */
+    public boolean run() throws Exception {
+        if (GraphicsEnvironment.isHeadless()) throw new HeadlessException("The stress harness needs a display, run it under xvfb-run");
+
+        ToastRecorder.install(this.metrics);
+        ToastLeakDetector.getInstance().setEnabled(true);
+        this.probe.start();
+
+        System.out.printf("Running %d producers at %.1f toasts/s each for %d s%n", this.producers, this.rate, this.duration);
+
+        long baselineHeap = this.getUsedHeap();
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(this.producers);
+        long period = (long) (TimeUnit.SECONDS.toNanos(1) / this.rate);
+
+        for (int i = 0; i < this.producers; i++) {
+            executor.scheduleAtFixedRate(this::produce, period * i / this.producers, period, TimeUnit.NANOSECONDS);
+        }
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(this.duration);
+
+        while (System.nanoTime() - end < 0) {
+            Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(this.sampleInterval), Math.max(1L, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            this.sample(start);
+        }
+
+        executor.shutdownNow();
+        executor.awaitTermination(10L, TimeUnit.SECONDS);
+        this.drain();
+        this.sample(start);
+        this.probe.stop();
+
+        this.check(baselineHeap);
+        return this.violations.isEmpty();
+    }
+
+    /**
+     * Fires one notification, with a random style, priority and set of modifiers.
+     * Called by the producer threads.
+     */
+    private void produce() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<ToastModifier> modifiers = new ArrayList<>();
+
+        if (random.nextDouble() < this.swipeRatio) modifiers.add(new SwipeToastModifier());
+        if (random.nextDouble() < this.soundRatio) modifiers.add(new SoundToastModifier(new ByteArrayInputStream(this.sound)));
+
+        long id = this.submitted.incrementAndGet();
+        ToastPriority priority = ToastPriority.values()[random.nextInt(ToastPriority.values().length)];
+        ToastStyle style = this.styles.get(random.nextInt(this.styles.size()));
+        ToastNotification toast = new ToastNotification("Stress #" + id, "Sustained load from " + Thread.currentThread().getName(), null, style, modifiers, priority);
+
+        toast.displayAsync().whenComplete((shown, error) -> {
+            if (error == null) return;
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof ToastStackOverflowException) this.overflows.incrementAndGet();
+            else this.failures.incrementAndGet();
+        });
+    }
+
+    /**
+     * Waits until every notification has closed and the pending queue is empty, or until the drain timeout expires.
+     *
+     * @throws InterruptedException If the harness is interrupted.
+     */
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(this.drainTimeout);
+
+        while (System.nanoTime() - deadline < 0) {
+            if (ToastNotification.getActiveNotificationCount() == 0 && ToastQueue.getInstance().getDepth() == 0 && ToastWindowPool.getInstance().getLeasedCount() == 0) return;
+            Thread.sleep(100L);
+        }
+
+        this.violations.add("Notifications still open " + this.drainTimeout + " s after the producers stopped");
+    }
+
+    /**
+     * Prints one line with the current measures.
+     *
+     * @param start The {@link System#nanoTime()} timestamp at which the producers started.
+     * @throws Exception If the Event Dispatch Thread fails.
+     */
+    private void sample(long start) throws Exception {
+        int[] windows = this.countWindows();
+        this.peakLiveWindows = Math.max(this.peakLiveWindows, windows[0]);
+
+        AnimationScheduler scheduler = AnimationScheduler.getInstance();
+        LatencyHistogram latency = this.probe.getLatency();
+        Runtime runtime = Runtime.getRuntime();
+
+        System.out.printf("%6d s  submitted %8d  shown %8d  closed %8d  overflows %6d  active %3d  pending %4d  windows %3d (%d visible)  animations %3d  tasks %3d  heap %5d MB  EDT p99 %4d ms  max %5d ms%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                this.submitted.get(), this.metrics.getShownCount(), this.metrics.getClosedCount(), this.overflows.get(),
+                ToastNotification.getActiveNotificationCount(), ToastQueue.getInstance().getDepth(), windows[0], windows[1],
+                scheduler.getActiveAnimationCount(), scheduler.getPendingTaskCount(),
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20,
+                TimeUnit.NANOSECONDS.toMillis(latency.getPercentile(99)), TimeUnit.NANOSECONDS.toMillis(latency.getMax()));
+    }
+
+    /**
+     * Checks the measures of the run against the thresholds, and prints every exceeded threshold.
+     *
+     * @param baselineHeap The used heap in bytes before the producers started.
+     * @throws Exception If the Event Dispatch Thread fails.
+     */
+    private void check(long baselineHeap) throws Exception {
+        LatencyHistogram latency = this.probe.getLatency();
+        long p99 = TimeUnit.NANOSECONDS.toMillis(latency.getPercentile(99));
+        long max = TimeUnit.NANOSECONDS.toMillis(latency.getMax());
+        long heapGrowth = (this.getUsedHeap() - baselineHeap) >> 20;
+        int[] windows = this.countWindows();
+        AnimationScheduler scheduler = AnimationScheduler.getInstance();
+
+        if (p99 > this.maxEdtLatencyP99) this.violations.add("EDT latency p99 of " + p99 + " ms exceeds " + this.maxEdtLatencyP99 + " ms");
+        if (max > this.maxEdtLatency) this.violations.add("EDT latency max of " + max + " ms exceeds " + this.maxEdtLatency + " ms");
+        if (this.peakLiveWindows > this.maxLiveWindows) this.violations.add("Peak of " + this.peakLiveWindows + " live windows exceeds " + this.maxLiveWindows);
+        if (heapGrowth > this.maxHeapGrowth) this.violations.add("Heap grew by " + heapGrowth + " MB, more than " + this.maxHeapGrowth + " MB");
+        if (this.maxOverflows >= 0 && this.overflows.get() > this.maxOverflows) this.violations.add(this.overflows.get() + " notifications dropped, more than " + this.maxOverflows);
+        if (this.failures.get() > 0) this.violations.add(this.failures.get() + " notifications failed to display");
+        if (windows[1] > 0) this.violations.add(windows[1] + " windows still visible after every notification closed");
+        if (windows[0] > this.getRetainedWindowLimit()) this.violations.add(windows[0] + " windows still alive after every notification closed, more than the pool and the overlays hold");
+        if (scheduler.getActiveAnimationCount() > 0) this.violations.add(scheduler.getActiveAnimationCount() + " animations still running after every notification closed");
+        if (ToastLeakDetector.getInstance().getLeakCount() > 0) this.violations.add(ToastLeakDetector.getInstance().getLeakCount() + " notifications leaked");
+
+        System.out.printf("%d toasts submitted, %d shown, %d closed, %d dropped with ToastStackOverflowException%n",
+                this.submitted.get(), this.metrics.getShownCount(), this.metrics.getClosedCount(), this.overflows.get());
+        System.out.printf("Display latency p99 %d ms, heap growth %d MB, peak %d live windows%n",
+                TimeUnit.NANOSECONDS.toMillis(this.metrics.getDisplayLatency().getPercentile(99)), heapGrowth, this.peakLiveWindows);
+
+        if (this.violations.isEmpty()) System.out.println("PASSED");
+        for (String violation : this.violations) System.out.println("FAILED: " + violation);
+    }
+
+    /**
+     * Returns how many windows may stay alive once every notification has closed:
+     * the idle windows of the pool, and one overlay per screen in the overlay rendering mode.
+     *
+     * @return The maximum number of retained windows.
+     */
+    private int getRetainedWindowLimit() {
+        int overlays = ToastNotification.getRenderingMode() == ToastRenderingMode.OVERLAY ? GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices().length : 0;
+        return ToastWindowPool.getInstance().getCapacity() + overlays;
+    }
+
+    /**
+     * Counts the windows of the application on the Event Dispatch Thread.
+     *
+     * @return The number of displayable windows, followed by the number of visible ones.
+     * @throws InterruptedException      If the harness is interrupted.
+     * @throws InvocationTargetException If the Event Dispatch Thread fails.
+     */
+    private int[] countWindows() throws InterruptedException, InvocationTargetException {
+        int[] counts = new int[2];
+
+        EventQueue.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                if (window.isDisplayable()) counts[0]++;
+                if (window.isVisible()) counts[1]++;
+            }
+        });
+
+        return counts;
+    }
+
+    /**
+     * Returns the used heap after a garbage collection.
+     *
+     * @return The used heap in bytes.
+     * @throws InterruptedException If the harness is interrupted.
+     */
+    private long getUsedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100L);
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Generates a short beep, played by the notifications using a {@link SoundToastModifier}.
+     *
+     * @return The beep as a WAV file.
+     */
+    private static byte[] createBeep() {
+        AudioFormat format = new AudioFormat(8000f, 8, 1, true, false);
+        byte[] samples = new byte[800];
+
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (byte) (Math.sin(2 * Math.PI * 440 * i / format.getSampleRate()) * 32);
+        }
+
+        ByteArrayOutputStream wav = new ByteArrayOutputStream();
+
+        try {
+            AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(samples), format, samples.length), AudioFileFormat.Type.WAVE, wav);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return wav.toByteArray();
+    }
+}
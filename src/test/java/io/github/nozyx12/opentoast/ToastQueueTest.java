@@ -0,0 +1,165 @@
+package io.github.nozyx12.opentoast;
+
+import io.github.nozyx12.opentoast.style.LightToastStyle;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the ordering of a {@link ToastQueue} and each {@link OverflowPolicy}.
+ * The notifications are only queued, never displayed, so no display is needed.
+ */
+class ToastQueueTest {
+    private static final ToastStyle STYLE = new LightToastStyle(new Font("Dialog", Font.BOLD, 14), new Font("Dialog", Font.PLAIN, 12), 20);
+
+    @Test
+    void snapshotListsTheHighestPriorityFirstThenTheOldest() {
+        ToastQueue queue = new ToastQueue(10, OverflowPolicy.DROP_NEWEST);
+        ToastNotification low = toast(ToastPriority.LOW);
+        ToastNotification firstNormal = toast(ToastPriority.NORMAL);
+        ToastNotification high = toast(ToastPriority.HIGH);
+        ToastNotification secondNormal = toast(ToastPriority.NORMAL);
+        ToastNotification critical = toast(ToastPriority.CRITICAL);
+
+        for (ToastNotification toast : Arrays.asList(low, firstNormal, high, secondNormal, critical)) assertTrue(queue.submit(toast));
+
+        assertEquals(Arrays.asList(critical, high, firstNormal, secondNormal, low), queue.snapshot());
+        assertEquals(5, queue.getDepth());
+    }
+
+    @Test
+    void removeUnlinksAWaitingNotificationOnce() {
+        ToastQueue queue = new ToastQueue(10, OverflowPolicy.DROP_NEWEST);
+        ToastNotification first = toast(ToastPriority.NORMAL);
+        ToastNotification second = toast(ToastPriority.NORMAL);
+        queue.submit(first);
+        queue.submit(second);
+
+        assertTrue(queue.remove(first));
+        assertFalse(queue.remove(first));
+        assertEquals(Arrays.asList(second), queue.snapshot());
+        assertEquals(1, queue.getDepth());
+    }
+
+    @Test
+    void dropNewestRejectsTheSubmittedNotification() {
+        ToastQueue queue = new ToastQueue(2, OverflowPolicy.DROP_NEWEST);
+        ToastNotification first = toast(ToastPriority.NORMAL);
+        ToastNotification second = toast(ToastPriority.NORMAL);
+        ToastNotification third = toast(ToastPriority.CRITICAL);
+        queue.submit(first);
+        queue.submit(second);
+
+        assertFalse(queue.submit(third));
+        assertEquals(Arrays.asList(first, second), queue.snapshot());
+        assertEquals(1, queue.getDropCount());
+        assertDropped(third);
+    }
+
+    @Test
+    void dropOldestMakesRoomForTheSubmittedNotification() {
+        ToastQueue queue = new ToastQueue(2, OverflowPolicy.DROP_OLDEST);
+        ToastNotification first = toast(ToastPriority.NORMAL);
+        ToastNotification second = toast(ToastPriority.NORMAL);
+        ToastNotification third = toast(ToastPriority.LOW);
+        queue.submit(first);
+        queue.submit(second);
+
+        assertTrue(queue.submit(third));
+        assertEquals(Arrays.asList(second, third), queue.snapshot());
+        assertEquals(1, queue.getDropCount());
+        assertDropped(first);
+    }
+
+    @Test
+    void replaceLowestPriorityOnlyReplacesALessImportantNotification() {
+        ToastQueue queue = new ToastQueue(2, OverflowPolicy.REPLACE_LOWEST_PRIORITY);
+        ToastNotification low = toast(ToastPriority.LOW);
+        ToastNotification normal = toast(ToastPriority.NORMAL);
+        ToastNotification high = toast(ToastPriority.HIGH);
+        ToastNotification otherNormal = toast(ToastPriority.NORMAL);
+        queue.submit(low);
+        queue.submit(normal);
+
+        assertTrue(queue.submit(high));
+        assertDropped(low);
+        assertEquals(Arrays.asList(high, normal), queue.snapshot());
+
+        assertFalse(queue.submit(otherNormal));
+        assertDropped(otherNormal);
+        assertEquals(Arrays.asList(high, normal), queue.snapshot());
+        assertEquals(2, queue.getDropCount());
+    }
+
+    @Test
+    void blockDropsTheSubmittedNotificationOnceTheTimeoutExpires() {
+        ToastQueue queue = new ToastQueue(1, OverflowPolicy.BLOCK);
+        queue.setBlockTimeout(50);
+        queue.submit(toast(ToastPriority.NORMAL));
+        ToastNotification blocked = toast(ToastPriority.NORMAL);
+
+        long start = System.nanoTime();
+        assertFalse(queue.submit(blocked));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertDropped(blocked);
+    }
+
+    @Test
+    void blockQueuesTheSubmittedNotificationOnceRoomIsFreed() throws InterruptedException {
+        ToastQueue queue = new ToastQueue(1, OverflowPolicy.BLOCK);
+        queue.setBlockTimeout(TimeUnit.SECONDS.toMillis(10));
+        ToastNotification first = toast(ToastPriority.NORMAL);
+        ToastNotification blocked = toast(ToastPriority.NORMAL);
+        queue.submit(first);
+
+        Thread remover = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            queue.remove(first);
+        });
+        remover.start();
+
+        assertTrue(queue.submit(blocked));
+        remover.join();
+
+        assertEquals(Arrays.asList(blocked), queue.snapshot());
+        assertEquals(0, queue.getDropCount());
+    }
+
+    @Test
+    void negativeCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ToastQueue(-1, OverflowPolicy.DROP_NEWEST));
+        assertThrows(IllegalArgumentException.class, () -> new ToastQueue(1, null));
+    }
+
+    /**
+     * Creates a notification that is never displayed.
+     *
+     * @param priority The priority of the notification.
+     * @return The notification.
+     */
+    private static ToastNotification toast(ToastPriority priority) {
+        return new ToastNotification("Title", "Message", null, STYLE, null, priority);
+    }
+
+    /**
+     * Checks that a notification was dropped by the queue.
+     *
+     * @param toast The notification.
+     */
+    private static void assertDropped(ToastNotification toast) {
+        CompletionException e = assertThrows(CompletionException.class, () -> toast.whenShown().join());
+        assertTrue(e.getCause() instanceof ToastStackOverflowException);
+    }
+}
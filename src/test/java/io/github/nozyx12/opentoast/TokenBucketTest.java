@@ -0,0 +1,40 @@
+package io.github.nozyx12.opentoast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the burst and the refill of a {@link TokenBucket}.
+ */
+class TokenBucketTest {
+    @Test
+    void aFullBucketAllowsABurst() {
+        TokenBucket bucket = new TokenBucket(0.001, 3);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void anEmptyBucketIsRefilledOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 1);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        // One token every 50 ms.
+        Thread.sleep(120);
+
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire(), "The bucket must not hold more than its burst");
+    }
+
+    @Test
+    void invalidRatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.nozyx12.opentoast.history;
+
+import io.github.nozyx12.opentoast.style.LightToastStyle;
+import io.github.nozyx12.opentoast.style.ToastStyle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the in-memory ring buffer of a {@link ToastHistory} and the entries it appends to its journal.
+ */
+class ToastHistoryTest {
+    private static final ToastStyle STYLE = new LightToastStyle(new Font("Dialog", Font.BOLD, 14), new Font("Dialog", Font.PLAIN, 12), 20);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void theMostRecentEntriesAreKeptInMemory() {
+        ToastHistory history = new ToastHistory(3);
+        for (int i = 0; i < 5; i++) history.record("Title " + i, "Message", STYLE, 0L, ToastOutcome.SHOWN);
+
+        List<ToastHistoryEntry> recent = history.getRecent(10);
+
+        assertEquals(3, recent.size());
+        assertEquals("Title 4", recent.get(0).getTitle());
+        assertEquals("Title 2", recent.get(2).getTitle());
+        assertEquals(5, history.getRecordedCount());
+        assertEquals(LightToastStyle.class.getName(), recent.get(0).getStyleName());
+    }
+
+    @Test
+    void shrinkingTheCapacityKeepsTheMostRecentEntries() {
+        ToastHistory history = new ToastHistory(5);
+        for (int i = 0; i < 7; i++) history.record("Title " + i, "Message", null, 0L, ToastOutcome.CLOSED);
+
+        history.setCapacity(2);
+
+        List<ToastHistoryEntry> recent = history.getRecent(10);
+        assertEquals(2, history.getCapacity());
+        assertEquals(2, recent.size());
+        assertEquals("Title 6", recent.get(0).getTitle());
+        assertEquals("Title 5", recent.get(1).getTitle());
+
+        history.record("Title 7", "Message", null, 0L, ToastOutcome.CLOSED);
+        assertEquals("Title 7", history.getRecent(1).get(0).getTitle());
+        assertEquals(2, history.getRecent(10).size());
+    }
+
+    @Test
+    void growingTheCapacityKeepsEveryEntryInOrder() {
+        ToastHistory history = new ToastHistory(2);
+        for (int i = 0; i < 3; i++) history.record("Title " + i, "Message", null, 0L, ToastOutcome.SHOWN);
+
+        history.setCapacity(4);
+        history.record("Title 3", "Message", null, 0L, ToastOutcome.SHOWN);
+        history.record("Title 4", "Message", null, 0L, ToastOutcome.SHOWN);
+
+        List<ToastHistoryEntry> recent = history.getRecent(10);
+        assertEquals(4, recent.size());
+        assertEquals("Title 4", recent.get(0).getTitle());
+        assertEquals("Title 1", recent.get(3).getTitle());
+    }
+
+    @Test
+    void aZeroCapacityKeepsNothingInMemory() {
+        ToastHistory history = new ToastHistory(3);
+        history.record("Title", "Message", null, 0L, ToastOutcome.SHOWN);
+
+        history.setCapacity(0);
+        history.record("Title", "Message", null, 0L, ToastOutcome.SHOWN);
+
+        assertTrue(history.getRecent(10).isEmpty());
+        assertEquals(2, history.getRecordedCount());
+        assertThrows(IllegalArgumentException.class, () -> history.setCapacity(-1));
+    }
+
+    @Test
+    void recordedEntriesAreAppendedToTheJournal() throws IOException, InterruptedException {
+        Path path = this.directory.resolve("toasts.journal");
+        ToastHistory history = new ToastHistory(10);
+        ToastJournal journal = history.openJournal(path);
+
+        history.record("Build", "Build succeeded", STYLE, 0L, ToastOutcome.SHOWN);
+        history.record("Deploy", "Deploy failed", null, 0L, ToastOutcome.DROPPED);
+        assertTrue(history.flushJournal(5000));
+
+        List<ToastHistoryEntry> entries = journal.readRecent(10);
+        assertEquals(2, entries.size());
+        assertEquals("Deploy", entries.get(0).getTitle());
+        assertEquals(ToastOutcome.DROPPED, entries.get(0).getOutcome());
+        assertEquals(0, history.getJournalErrorCount());
+
+        history.closeJournal();
+        assertNull(history.getJournal());
+    }
+
+    @Test
+    void sequenceNumbersContinueAfterAReopenedJournal() throws IOException, InterruptedException {
+        Path path = this.directory.resolve("toasts.journal");
+
+        ToastHistory first = new ToastHistory(10);
+        first.openJournal(path);
+        first.record("First", "Message", null, 0L, ToastOutcome.SHOWN);
+        first.record("Second", "Message", null, 0L, ToastOutcome.SHOWN);
+        assertTrue(first.flushJournal(5000));
+        first.closeJournal();
+
+        ToastHistory second = new ToastHistory(10);
+        ToastJournal journal = second.openJournal(path);
+        ToastHistoryEntry entry = second.record("Third", "Message", null, 0L, ToastOutcome.SHOWN);
+        assertTrue(second.flushJournal(5000));
+
+        assertEquals(2, entry.getSequence());
+        assertEquals(3, journal.readRecent(10).size());
+        second.closeJournal();
+    }
+}
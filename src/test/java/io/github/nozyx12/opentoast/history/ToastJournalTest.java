@@ -0,0 +1,197 @@
+package io.github.nozyx12.opentoast.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests writing, reopening and reading back a {@link ToastJournal}, including journals with a corrupted tail.
+ */
+class ToastJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void entriesAreReadBackMostRecentFirst() throws IOException {
+        try (ToastJournal journal = ToastJournal.open(this.directory.resolve("toasts.journal"))) {
+            journal.append(entry(0, "Build", "Build succeeded", "com.example.Style", ToastOutcome.SHOWN));
+            journal.append(entry(1, "Deploy", null, null, ToastOutcome.DROPPED));
+
+            List<ToastHistoryEntry> entries = journal.readRecent(10);
+
+            assertEquals(2, entries.size());
+            assertEntry(entries.get(0), 1, "Deploy", null, null, ToastOutcome.DROPPED);
+            assertEntry(entries.get(1), 0, "Build", "Build succeeded", "com.example.Style", ToastOutcome.SHOWN);
+            assertEquals(2, journal.getAppendedCount());
+        }
+    }
+
+    @Test
+    void readRecentStopsAtTheLimit() throws IOException {
+        try (ToastJournal journal = ToastJournal.open(this.directory.resolve("toasts.journal"))) {
+            for (int i = 0; i < 5; i++) journal.append(entry(i, "Title " + i, "Message", null, ToastOutcome.CLOSED));
+
+            List<ToastHistoryEntry> entries = journal.readRecent(2);
+
+            assertEquals(2, entries.size());
+            assertEquals(4, entries.get(0).getSequence());
+            assertEquals(3, entries.get(1).getSequence());
+        }
+    }
+
+    @Test
+    void aReopenedJournalKeepsItsEntriesAndAppendsAfterThem() throws IOException {
+        Path path = this.directory.resolve("toasts.journal");
+
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            journal.append(entry(0, "First", "Message", null, ToastOutcome.SHOWN));
+        }
+
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            assertEquals(0, journal.getAppendedCount());
+            journal.append(entry(1, "Second", "Message", null, ToastOutcome.CLOSED));
+
+            List<ToastHistoryEntry> entries = journal.readRecent(10);
+            assertEquals(2, entries.size());
+            assertEquals("Second", entries.get(0).getTitle());
+            assertEquals("First", entries.get(1).getTitle());
+        }
+    }
+
+    @Test
+    void longTextsAreTruncated() throws IOException {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 5000; i++) message.append('é');
+
+        try (ToastJournal journal = ToastJournal.open(this.directory.resolve("toasts.journal"))) {
+            journal.append(entry(0, "Title", message.toString(), null, ToastOutcome.SHOWN));
+
+            String read = journal.readRecent(1).get(0).getMessage();
+            assertEquals(2048, read.length());
+        }
+    }
+
+    @Test
+    void aFileThatIsNotAJournalIsRejected() throws IOException {
+        Path path = this.directory.resolve("other.bin");
+        Files.write(path, new byte[32]);
+
+        assertThrows(IOException.class, () -> ToastJournal.open(path));
+    }
+
+    @Test
+    void mismatchedEntryLengthsAreReportedAsCorrupted() throws IOException {
+        Path path = this.directory.resolve("toasts.journal");
+        long start = this.writeTwoEntries(path);
+
+        // The leading length of the last entry no longer matches its trailing length.
+        this.overwriteInt(path, start, 12345);
+
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            assertThrows(UncheckedIOException.class, () -> journal.readRecent(10));
+        }
+    }
+
+    @Test
+    void aTextOverflowingItsEntryIsReportedAsCorrupted() throws IOException {
+        Path path = this.directory.resolve("toasts.journal");
+        long start = this.writeTwoEntries(path);
+
+        // The title length of the last entry, after its length and its fixed fields, points past the entry.
+        this.overwriteInt(path, start + 4 + 25, 1000);
+
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            Iterator<ToastHistoryEntry> iterator = journal.reverseIterator();
+            assertThrows(UncheckedIOException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void aTruncatedTrailingLengthIsReportedAsCorrupted() throws IOException {
+        Path path = this.directory.resolve("toasts.journal");
+        this.writeTwoEntries(path);
+
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            this.overwriteInt(path, journal.getSize() - 4, 3);
+            assertThrows(UncheckedIOException.class, () -> journal.readRecent(10));
+        }
+    }
+
+    /**
+     * Writes two entries into a new journal.
+     *
+     * @param path The path of the journal.
+     * @return The offset of the last entry in the file.
+     * @throws IOException If the journal cannot be written.
+     */
+    private long writeTwoEntries(Path path) throws IOException {
+        try (ToastJournal journal = ToastJournal.open(path)) {
+            journal.append(entry(0, "First", "Message", null, ToastOutcome.SHOWN));
+            long start = journal.getSize();
+            journal.append(entry(1, "Second", "Message", null, ToastOutcome.CLOSED));
+            return start;
+        }
+    }
+
+    /**
+     * Overwrites four bytes of a file.
+     *
+     * @param path     The path of the file.
+     * @param position The offset of the bytes.
+     * @param value    The integer to write.
+     * @throws IOException If the file cannot be written.
+     */
+    private void overwriteInt(Path path, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            buffer.putInt(value);
+            buffer.flip();
+            channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Creates an entry with fixed times.
+     *
+     * @param sequence  The sequence number of the entry.
+     * @param title     The title. Can be null.
+     * @param message   The message. Can be null.
+     * @param styleName The name of the style. Can be null.
+     * @param outcome   The outcome.
+     * @return The entry.
+     */
+    private static ToastHistoryEntry entry(long sequence, String title, String message, String styleName, ToastOutcome outcome) {
+        return new ToastHistoryEntry(sequence, title, message, styleName, 1000L + sequence, 2000L + sequence, outcome);
+    }
+
+    /**
+     * Checks every field of an entry read back from a journal.
+     *
+     * @param entry     The entry to check.
+     * @param sequence  The expected sequence number.
+     * @param title     The expected title.
+     * @param message   The expected message.
+     * @param styleName The expected style name.
+     * @param outcome   The expected outcome.
+     */
+    private static void assertEntry(ToastHistoryEntry entry, long sequence, String title, String message, String styleName, ToastOutcome outcome) {
+        assertEquals(sequence, entry.getSequence());
+        assertEquals(title, entry.getTitle());
+        assertEquals(message, entry.getMessage());
+        assertEquals(styleName, entry.getStyleName());
+        assertEquals(1000L + sequence, entry.getCreationTime());
+        assertEquals(2000L + sequence, entry.getTime());
+        assertEquals(outcome, entry.getOutcome());
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.nozyx12.opentoast.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the offsets of the slots of a {@link ToastStackLayout} as they are reserved, resized and released.
+ */
+class ToastStackLayoutTest {
+    private static final int MARGIN = 10;
+    private static final int LIMIT = 1000;
+
+    private final ToastStackLayout layout = new ToastStackLayout(MARGIN);
+    private final List<ToastStackLayout.Slot> moved = new ArrayList<>();
+
+    @Test
+    void reserveStacksSlotsSeparatedByTheMargin() {
+        ToastStackLayout.Slot first = this.layout.reserve(50, LIMIT, null);
+        ToastStackLayout.Slot second = this.layout.reserve(30, LIMIT, null);
+
+        assertEquals(0, first.getOffset());
+        assertEquals(60, second.getOffset());
+        assertEquals(30, second.getHeight());
+        assertEquals(2, this.layout.getSlotCount());
+        assertEquals(100, this.layout.getStackHeight());
+    }
+
+    @Test
+    void reserveFailsWhenTheSlotExceedsTheLimit() {
+        assertNotNull(this.layout.reserve(50, 100, null));
+        assertNull(this.layout.reserve(50, 100, null));
+        assertEquals(1, this.layout.getSlotCount());
+
+        ToastStackLayout.Slot last = this.layout.reserve(40, 100, null);
+        assertNotNull(last);
+        assertEquals(60, last.getOffset());
+    }
+
+    @Test
+    void releaseMovesTheSlotsAboveDownAndNotifiesThem() {
+        ToastStackLayout.Slot bottom = this.layout.reserve(50, LIMIT, this.moved::add);
+        ToastStackLayout.Slot middle = this.layout.reserve(40, LIMIT, this.moved::add);
+        ToastStackLayout.Slot top = this.layout.reserve(30, LIMIT, this.moved::add);
+
+        this.layout.release(middle);
+
+        assertEquals(0, bottom.getOffset());
+        assertEquals(60, top.getOffset());
+        assertEquals(2, this.layout.getSlotCount());
+        assertEquals(100, this.layout.getStackHeight());
+        assertEquals(1, this.moved.size());
+        assertSame(top, this.moved.get(0));
+
+        ToastStackLayout.Slot next = this.layout.reserve(20, LIMIT, null);
+        assertEquals(100, next.getOffset());
+    }
+
+    @Test
+    void releasingASlotTwiceHasNoEffect() {
+        ToastStackLayout.Slot bottom = this.layout.reserve(50, LIMIT, null);
+        ToastStackLayout.Slot top = this.layout.reserve(30, LIMIT, null);
+
+        this.layout.release(bottom);
+        this.layout.release(bottom);
+
+        assertEquals(0, top.getOffset());
+        assertEquals(1, this.layout.getSlotCount());
+        assertEquals(40, this.layout.getStackHeight());
+    }
+
+    @Test
+    void resizeMovesTheSlotsAboveAndMayExceedTheLimit() {
+        ToastStackLayout.Slot bottom = this.layout.reserve(50, 100, this.moved::add);
+        ToastStackLayout.Slot top = this.layout.reserve(30, 100, this.moved::add);
+
+        this.layout.resize(bottom, 70);
+
+        assertEquals(70, bottom.getHeight());
+        assertEquals(80, top.getOffset());
+        assertEquals(120, this.layout.getStackHeight());
+        assertEquals(1, this.moved.size());
+        assertSame(top, this.moved.get(0));
+
+        this.layout.resize(bottom, 40);
+        assertEquals(50, top.getOffset());
+        assertEquals(90, this.layout.getStackHeight());
+    }
+
+    @Test
+    void resizingAReleasedSlotHasNoEffect() {
+        ToastStackLayout.Slot bottom = this.layout.reserve(50, LIMIT, null);
+        ToastStackLayout.Slot top = this.layout.reserve(30, LIMIT, null);
+
+        this.layout.release(bottom);
+        this.layout.resize(bottom, 200);
+
+        assertEquals(0, top.getOffset());
+        assertEquals(40, this.layout.getStackHeight());
+    }
+}
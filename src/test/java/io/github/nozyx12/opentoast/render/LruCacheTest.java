@@ -0,0 +1,73 @@
+package io.github.nozyx12.opentoast.render;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the eviction order and the statistics of an {@link LruCache}.
+ */
+class LruCacheTest {
+    private final AtomicInteger computations = new AtomicInteger();
+    private final LruCache<String, String> cache = new LruCache<>(2);
+
+    @Test
+    void aCachedValueIsOnlyComputedOnce() {
+        assertEquals("A", this.get("a"));
+        assertEquals("A", this.get("a"));
+
+        assertEquals(1, this.computations.get());
+        assertEquals(1, this.cache.getHitCount());
+        assertEquals(1, this.cache.getMissCount());
+    }
+
+    @Test
+    void theLeastRecentlyUsedEntryIsEvictedFirst() {
+        this.get("a");
+        this.get("b");
+        this.get("a");
+        this.get("c");
+
+        assertEquals(2, this.cache.size());
+
+        // "b" was the least recently used entry, "a" and "c" are still cached.
+        this.computations.set(0);
+        this.get("a");
+        this.get("c");
+        assertEquals(0, this.computations.get());
+
+        this.get("b");
+        assertEquals(1, this.computations.get());
+    }
+
+    @Test
+    void clearRemovesEveryEntry() {
+        this.get("a");
+        this.get("b");
+        this.cache.clear();
+
+        assertEquals(0, this.cache.size());
+        this.get("a");
+        assertEquals(3, this.computations.get());
+    }
+
+    @Test
+    void aNonPositiveCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<String, String>(0));
+    }
+
+    /**
+     * Looks up a key, computing its value as the key in upper case.
+     *
+     * @param key The key to look up.
+     * @return The cached or computed value.
+     */
+    private String get(String key) {
+        return this.cache.get(key, k -> {
+            this.computations.incrementAndGet();
+            return k.toUpperCase();
+        });
+    }
+}